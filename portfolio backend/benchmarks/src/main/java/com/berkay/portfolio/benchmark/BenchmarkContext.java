@@ -0,0 +1,34 @@
+package com.berkay.portfolio.benchmark;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Minimal Spring context for the services a benchmark measures, so they are injected,
+ * configured and initialized the same way as in the application. Close it in the teardown.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * @param properties values for the services' {@code @Value} placeholders
+     * @param beans registers the services and whatever they depend on besides a MeterRegistry
+     */
+    public static AnnotationConfigApplicationContext start(Map<String, Object> properties,
+            Consumer<AnnotationConfigApplicationContext> beans) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        beans.accept(context);
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,112 @@
+package com.berkay.portfolio.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.berkay.portfolio.model.MediaMetadata;
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialization of the /fetch payloads for projects and project detail content, sized like a
+ * real portfolio (a few text blocks and media items per project).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final String PARAGRAPH = "Built a distributed job scheduler with retries, idempotent workers and a "
+            + "dashboard for operators. The backend runs on Spring Boot with MongoDB, media is stored on S3 and "
+            + "served through presigned URLs, and the frontend renders everything with Next.js.";
+
+    @Param({ "10", "50" })
+    private int projectCount;
+
+    @Param({ "8" })
+    private int detailsPerProject;
+
+    private ObjectMapper objectMapper;
+    private List<Projects> projects;
+    private List<ProjectDetailContent> details;
+
+    @Setup
+    public void setUp() {
+        // Configured like the application's mapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        projects = new ArrayList<>();
+        details = new ArrayList<>();
+        for (int i = 1; i <= projectCount; i++) {
+            String projectId = String.format("65f1c2d3e4b5a697%08d", i);
+            projects.add(Projects.builder()
+                    .id(projectId)
+                    .projectName("Project " + i)
+                    .projectDescription(PARAGRAPH)
+                    .projectLink("https://github.com/example/project-" + i)
+                    .projectContentType(i % 3 == 0 ? Projects.ProjectContentType.VIDEO : Projects.ProjectContentType.IMAGE)
+                    .projectContent(mediaUrl("project-content", i))
+                    .projectContentMetadata(metadata(i % 3 == 0))
+                    .projectTechnologies("Java, Spring Boot, MongoDB, AWS S3, React, Next.js")
+                    .displayOrder(i)
+                    .build());
+            for (int j = 1; j <= detailsPerProject; j++) {
+                boolean text = j % 2 == 1;
+                details.add(ProjectDetailContent.builder()
+                        .id(String.format("75f1c2d3e4b5a697%04d%04d", i, j))
+                        .projectId(projectId)
+                        .projectDetailContentType(text ? ProjectDetailContent.ProjectDetailContentType.TEXT
+                                : ProjectDetailContent.ProjectDetailContentType.IMAGE)
+                        .projectDetailContent(text ? "<p>" + PARAGRAPH + "</p><p>" + PARAGRAPH + "</p>"
+                                : mediaUrl("project-detail-content", i * 100 + j))
+                        .projectDetailContentMetadata(text ? null : metadata(false))
+                        .displayOrder(j)
+                        .build());
+            }
+        }
+    }
+
+    private static String mediaUrl(String folder, int index) {
+        return "https://portfolio-media.s3.amazonaws.com/" + folder + "/0b6f3e52-6c1d-4f0e-9a8b-" + index + "_media.png";
+    }
+
+    private static MediaMetadata metadata(boolean video) {
+        return MediaMetadata.builder()
+                .contentType(video ? "video/mp4" : "image/png")
+                .size(video ? 18_874_368L : 482_113L)
+                .width(1920)
+                .height(1080)
+                .blurHash("LEHV6nWB2yk8pyo0adR*.7kCMdnj")
+                .durationSeconds(video ? 42.5 : null)
+                .posterKey(video ? "https://portfolio-media.s3.amazonaws.com/video-posters/poster.jpg" : null)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializeProjects() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projects);
+    }
+
+    @Benchmark
+    public byte[] serializeProjectDetailContent() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(details);
+    }
+}
@@ -0,0 +1,92 @@
+package com.berkay.portfolio.service;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.berkay.portfolio.benchmark.BenchmarkContext;
+import com.berkay.portfolio.model.Admin;
+import com.berkay.portfolio.repository.AdminRepository;
+
+/**
+ * Admin lookups as done on login, against an in-memory repository so only the service's own
+ * overhead (cache, UserDetails construction) is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomUserDetailsServiceBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private CustomUserDetailsService userDetailsService;
+
+    @Setup
+    public void setUp() {
+        Map<String, Admin> admins = new ConcurrentHashMap<>();
+        admins.put("admin", Admin.builder()
+                .id("65f1c2d3e4b5a69788990011")
+                .username("admin")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z4S5n1ZB3k3Z5GkYwYxQe1Gm")
+                .credentialVersion(CustomUserDetailsService.newCredentialVersion())
+                .build());
+
+        context = BenchmarkContext.start(Map.of(), beans -> {
+            beans.registerBean(AdminRepository.class, () -> inMemoryRepository(admins));
+            beans.register(CustomUserDetailsService.class);
+        });
+        userDetailsService = context.getBean(CustomUserDetailsService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private static AdminRepository inMemoryRepository(Map<String, Admin> admins) {
+        return (AdminRepository) Proxy.newProxyInstance(AdminRepository.class.getClassLoader(),
+                new Class<?>[] { AdminRepository.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findByUsername":
+                            return Optional.ofNullable(admins.get((String) args[0]));
+                        case "existsByUsername":
+                            return admins.containsKey((String) args[0]);
+                        case "save":
+                            Admin admin = (Admin) args[0];
+                            admins.put(admin.getUsername(), admin);
+                            return admin;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    @Benchmark
+    public UserDetails loadUserCached() {
+        return userDetailsService.loadUserByUsername("admin");
+    }
+
+    @Benchmark
+    public UserDetails loadUserUncached() {
+        userDetailsService.evict("admin");
+        return userDetailsService.loadUserByUsername("admin");
+    }
+}
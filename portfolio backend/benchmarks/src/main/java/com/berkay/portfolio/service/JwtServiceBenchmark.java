@@ -0,0 +1,71 @@
+package com.berkay.portfolio.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.berkay.portfolio.benchmark.BenchmarkContext;
+
+/**
+ * Token issuing on login and the two verification paths of the JWT filter: a cache hit, and a
+ * full signature check as done the first time a token is seen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final List<String> AUTHORITIES = List.of(CustomUserDetailsService.ADMIN_AUTHORITY);
+
+    private AnnotationConfigApplicationContext context;
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of(
+                "jwt.secret", "benchmarkSecret1234567890123456789012345678901234567890123456789",
+                "jwt.expiration", "86400000",
+                "jwt.verified-token-cache-size", "10000"),
+                beans -> beans.register(JwtService.class));
+        jwtService = context.getBean(JwtService.class);
+        token = jwtService.generateToken("admin", CustomUserDetailsService.newCredentialVersion(), AUTHORITIES);
+        jwtService.verify(token);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("admin", "3f0c2b4e-8d6a-4c1e-9b7f-2a5d8e1c6f90", AUTHORITIES);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String verifySignature() {
+        return jwtService.extractUsername(token);
+    }
+}
@@ -0,0 +1,93 @@
+package com.berkay.portfolio.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the latency gradient: the ratio of the long-term average
+ * response time to the latest one. While latency holds steady the limit grows by about its
+ * square root per sample; once requests queue and get slower the gradient drops below 1 and
+ * the limit shrinks with it, down to half per sample.
+ */
+class AdaptiveConcurrencyLimit {
+
+    // Samples the long-term average spans, and plain averages taken before it kicks in
+    private static final int LONG_WINDOW = 600;
+    private static final int WARMUP_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    // How much slower than the long-term average a request may be before the limit shrinks
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRtt;
+    private long samples;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * @return the number of requests in flight including this one, or 0 if the limit is reached
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return 0;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * @param inFlightAtStart what {@link #tryAcquire()} returned for the request
+     */
+    void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart);
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart) {
+        double shortRtt = Math.max(1, rttNanos);
+        samples++;
+        if (samples <= WARMUP_SAMPLES) {
+            longRtt += (shortRtt - longRtt) / samples;
+        } else {
+            longRtt += (shortRtt - longRtt) * 2 / (LONG_WINDOW + 1);
+        }
+        // After a slow period the average lags far behind, let it catch up faster
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        // Far below the limit latency says nothing about it, and it must not grow unbounded
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -1,21 +1,26 @@
 package com.berkay.portfolio.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import com.berkay.portfolio.model.Admin;
 import com.berkay.portfolio.repository.AdminRepository;
+import com.berkay.portfolio.service.CustomUserDetailsService;
+import com.berkay.portfolio.service.PasswordHashingService;
 
 @Component
 public class DatabaseInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DatabaseInitializer.class);
+
     @Autowired
     private AdminRepository adminRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Override
     public void run(String... args) throws Exception {
@@ -23,11 +28,12 @@ public class DatabaseInitializer implements CommandLineRunner {
         if (adminRepository.count() == 0) {
             Admin admin = Admin.builder()
                     .username("admin")
-                    .password(passwordEncoder.encode("admin123"))
+                    .password(passwordHashingService.encode("admin123"))
+                    .credentialVersion(CustomUserDetailsService.newCredentialVersion())
                     .build();
             
             adminRepository.save(admin);
-            System.out.println("Default admin user created: username=admin, password=admin123");
+            log.warn("Default admin user created with username admin and the default password, change it after the first login");
         }
     }
 }
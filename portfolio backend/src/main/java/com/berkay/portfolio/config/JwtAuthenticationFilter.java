@@ -1,17 +1,25 @@
 package com.berkay.portfolio.config;
 
 import java.io.IOException;
+import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.berkay.portfolio.service.CustomUserDetailsService;
+import com.berkay.portfolio.monitoring.JwtVerificationEvent;
+import com.berkay.portfolio.monitoring.RequestTiming;
+import com.berkay.portfolio.service.CredentialRevocationService;
 import com.berkay.portfolio.service.JwtService;
+import com.berkay.portfolio.service.VerifiedToken;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -21,11 +29,13 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     @Autowired
     private JwtService jwtService;
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private CredentialRevocationService credentialRevocationService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -41,27 +51,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
+        long start = System.nanoTime();
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        String outcome = "error";
         try {
-            username = jwtService.extractUsername(jwt);
-            System.out.println("JWT Filter - Extracted username: " + username);
+            // Signature is checked once per token and cached until expiry
+            VerifiedToken verifiedToken = jwtService.verify(jwt);
+            outcome = verifiedToken != null ? "valid" : "invalid";
+            // Tokens without a credential version predate revocation support and must log in again
+            if (verifiedToken != null && (verifiedToken.getCredentialVersion() == null
+                    || credentialRevocationService.isRevoked(verifiedToken.getCredentialVersion()))) {
+                verifiedToken = null;
+                outcome = "revoked";
+            }
+            event.end();
+            username = verifiedToken != null ? verifiedToken.getUsername() : null;
             
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                System.out.println("JWT Filter - Loaded user details: " + userDetails.getUsername());
+                // The principal is rebuilt from the token claims alone, no database lookup
+                List<SimpleGrantedAuthority> authorities = verifiedToken.getAuthorities().stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList();
+                UserDetails userDetails = new User(username, "", authorities);
                 
-                if (jwtService.validateToken(jwt, userDetails)) {
-                    System.out.println("JWT Filter - Token is valid, setting authentication");
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    System.out.println("JWT Filter - Token validation failed");
-                }
+                log.debug("Authenticated request for {}", username);
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else if (username == null) {
+                log.debug("Rejected invalid, expired or revoked token");
             }
         } catch (Exception e) {
-            System.out.println("JWT Filter - Exception: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("Failed to process JWT: {}", e.getMessage());
+        }
+        RequestTiming.record(RequestTiming.Phase.AUTH, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.outcome = outcome;
+            event.commit();
         }
         
         filterChain.doFilter(request, response);
@@ -0,0 +1,286 @@
+package com.berkay.portfolio.config;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Puts an {@link AdaptiveConcurrencyLimit} in front of the public read endpoints. A request over
+ * the limit is answered from the last successful response to the same URL when one is recent
+ * enough, otherwise rejected straight away with a 503 and Retry-After instead of queueing behind
+ * the requests already slowing the server (and Mongo) down.
+ *
+ * Search is answered from the in-memory index and slows down for other reasons than the reads
+ * going to Mongo, so it has a limit of its own: neither can shrink the other's.
+ *
+ * Snapshots are only taken while a request is admitted, at most once per refresh interval per
+ * URL, so normal traffic pays for copying a response body rarely. URLs are told apart by path
+ * and the query parameters the endpoints read, so made-up parameters cannot crowd out real URLs,
+ * and a new URL replaces snapshots too old to serve, or else the oldest one. This filter runs
+ * before Spring Security, so responses it writes itself get their CORS headers here.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final byte[] BUSY_BODY = "{\"error\":\"Server is busy, please retry shortly\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CorsConfigurationSource corsConfigurationSource;
+
+    @Value("${load-shedding.enabled:true}")
+    private boolean enabled;
+
+    @Value("${load-shedding.paths:/api/*/fetch,/api/projects/**,/api/project-detail-content/**}")
+    private List<String> paths;
+
+    @Value("${load-shedding.search-paths:/api/search/**}")
+    private List<String> searchPaths;
+
+    @Value("${load-shedding.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${load-shedding.min-limit:4}")
+    private int minLimit;
+
+    @Value("${load-shedding.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${load-shedding.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${load-shedding.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${load-shedding.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("${load-shedding.snapshot.refresh-seconds:10}")
+    private long snapshotRefreshSeconds;
+
+    @Value("${load-shedding.snapshot.max-age-seconds:120}")
+    private long snapshotMaxAgeSeconds;
+
+    @Value("${load-shedding.snapshot.max-bytes:1048576}")
+    private int snapshotMaxBytes;
+
+    @Value("${load-shedding.snapshot.max-entries:256}")
+    private int snapshotMaxEntries;
+
+    @Value("${load-shedding.snapshot.query-params:tech,view,q,limit}")
+    private List<String> snapshotQueryParams;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    private AdaptiveConcurrencyLimit readLimit;
+    private AdaptiveConcurrencyLimit searchLimit;
+    private Counter rejected;
+    private Counter servedSnapshot;
+
+    @PostConstruct
+    void start() {
+        readLimit = newLimit("reads");
+        searchLimit = newLimit("search");
+        rejected = shedCounter("rejected");
+        servedSnapshot = shedCounter("snapshot");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"GET".equals(request.getMethod()) || limitFor(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = snapshotKey(request);
+        long now = System.nanoTime();
+
+        AdaptiveConcurrencyLimit limit = limitFor(request);
+        int inFlight = limit.tryAcquire();
+        if (inFlight == 0) {
+            shed(key, now, request, response);
+            return;
+        }
+
+        Snapshot previous = snapshots.get(key);
+        ContentCachingResponseWrapper capture = previous == null
+                || now - previous.takenAt > TimeUnit.SECONDS.toNanos(snapshotRefreshSeconds)
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, capture != null ? capture : response);
+            completed = true;
+        } finally {
+            limit.release(System.nanoTime() - now, inFlight);
+            if (capture != null) {
+                if (completed) {
+                    snapshot(key, capture);
+                }
+                capture.copyBodyToResponse();
+            }
+        }
+    }
+
+    private AdaptiveConcurrencyLimit limitFor(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (matches(searchPaths, path)) {
+            return searchLimit;
+        }
+        return matches(paths, path) ? readLimit : null;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern.trim(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void shed(String key, long now, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        CorsConfiguration cors = corsConfigurationSource.getCorsConfiguration(request);
+        if (cors != null && !corsProcessor.processRequest(cors, request, response)) {
+            // Origin not allowed, the processor has already answered with a 403
+            return;
+        }
+        Snapshot snapshot = snapshots.get(key);
+        long age = snapshot == null ? Long.MAX_VALUE : now - snapshot.takenAt;
+        if (age <= TimeUnit.SECONDS.toNanos(snapshotMaxAgeSeconds)) {
+            servedSnapshot.increment();
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(snapshot.contentType);
+            if (snapshot.eTag != null) {
+                response.setHeader(HttpHeaders.ETAG, snapshot.eTag);
+            }
+            if (snapshot.cacheControl != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, snapshot.cacheControl);
+            }
+            response.setHeader(HttpHeaders.AGE, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(age)));
+            response.setContentLength(snapshot.body.length);
+            response.getOutputStream().write(snapshot.body);
+            return;
+        }
+        rejected.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(BUSY_BODY.length);
+        response.getOutputStream().write(BUSY_BODY);
+    }
+
+    private String snapshotKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (String name : snapshotQueryParams) {
+            String[] values = request.getParameterValues(name.trim());
+            if (values == null) {
+                continue;
+            }
+            for (String value : values) {
+                key.append(separator).append(name.trim()).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    private void snapshot(String key, ContentCachingResponseWrapper response) {
+        if (response.getStatus() != HttpStatus.OK.value() || response.getContentSize() > snapshotMaxBytes) {
+            return;
+        }
+        if (snapshots.size() >= snapshotMaxEntries && !snapshots.containsKey(key)) {
+            evict(System.nanoTime());
+        }
+        if (snapshots.size() < snapshotMaxEntries || snapshots.containsKey(key)) {
+            snapshots.put(key, new Snapshot(response.getContentType(), response.getHeader(HttpHeaders.ETAG),
+                    response.getHeader(HttpHeaders.CACHE_CONTROL), response.getContentAsByteArray(), System.nanoTime()));
+        }
+    }
+
+    private void evict(long now) {
+        long maxAge = TimeUnit.SECONDS.toNanos(snapshotMaxAgeSeconds);
+        snapshots.values().removeIf(snapshot -> now - snapshot.takenAt > maxAge);
+        if (snapshots.size() >= snapshotMaxEntries) {
+            snapshots.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().takenAt))
+                    .ifPresent(oldest -> snapshots.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(String endpoints) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, smoothing);
+        Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("endpoints", endpoints)
+                .description("Concurrent public read requests currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("endpoints", endpoints)
+                .description("Public read requests being processed")
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private Counter shedCounter(String outcome) {
+        return Counter.builder("http.requests.shed")
+                .tag("outcome", outcome)
+                .description("Public read requests over the concurrency limit, by how they were answered")
+                .register(meterRegistry);
+    }
+
+    private static final class Snapshot {
+        private final String contentType;
+        private final String eTag;
+        private final String cacheControl;
+        private final byte[] body;
+        private final long takenAt;
+
+        private Snapshot(String contentType, String eTag, String cacheControl, byte[] body, long takenAt) {
+            this.contentType = contentType;
+            this.eTag = eTag;
+            this.cacheControl = cacheControl;
+            this.body = body;
+            this.takenAt = takenAt;
+        }
+    }
+}
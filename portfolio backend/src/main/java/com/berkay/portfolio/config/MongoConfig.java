@@ -0,0 +1,213 @@
+package com.berkay.portfolio.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+import com.berkay.portfolio.monitoring.PoolCheckoutListener;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.TransactionOptions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tunes the Mongo client on top of the connection URI. A profile picks consistent defaults for
+ * the role of the instance, for whatever the URI leaves unset; individual properties override
+ * both:
+ * <ul>
+ * <li>admin-consistent: reads from the primary with majority read concern, so an edit is
+ * visible to the next request. For instances that take admin writes.</li>
+ * <li>read-heavy-public: reads from a nearby secondary when there is one and keeps a larger,
+ * pre-warmed pool. Reads may lag writes by up to max-staleness, so only for instances serving
+ * the public site.</li>
+ * </ul>
+ * Loads that are kept until the next change (read cache, search index, technology facets) are
+ * pinned to the primary on their repository methods whatever the profile, so a lagging
+ * secondary never gets cached.
+ */
+@Configuration
+public class MongoConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoConfig.class);
+
+    private static final List<String> DEFAULT_COMPRESSORS = List.of("zstd", "snappy", "zlib");
+
+    @Value("${spring.data.mongodb.uri:}")
+    private String uri;
+
+    @Value("${portfolio.mongo.profile:admin-consistent}")
+    private String profile;
+
+    // Empty or 0 values fall back to the profile, or to the URI and driver defaults for timeouts
+    @Value("${portfolio.mongo.read-preference:}")
+    private String readPreference;
+
+    @Value("${portfolio.mongo.max-staleness-seconds:0}")
+    private long maxStalenessSeconds;
+
+    @Value("${portfolio.mongo.read-concern:}")
+    private String readConcern;
+
+    @Value("${portfolio.mongo.pool.max-size:0}")
+    private int poolMaxSize;
+
+    @Value("${portfolio.mongo.pool.min-size:-1}")
+    private int poolMinSize;
+
+    @Value("${portfolio.mongo.pool.max-wait-ms:0}")
+    private long poolMaxWaitMs;
+
+    @Value("${portfolio.mongo.pool.max-idle-ms:0}")
+    private long poolMaxIdleMs;
+
+    @Value("${portfolio.mongo.pool.max-connecting:0}")
+    private int poolMaxConnecting;
+
+    @Value("${portfolio.mongo.connect-timeout-ms:0}")
+    private int connectTimeoutMs;
+
+    @Value("${portfolio.mongo.socket-timeout-ms:0}")
+    private int socketTimeoutMs;
+
+    @Value("${portfolio.mongo.server-selection-timeout-ms:0}")
+    private long serverSelectionTimeoutMs;
+
+    // Empty: the URI's compressors, or zstd, snappy and zlib
+    @Value("${portfolio.mongo.compressors:}")
+    private List<String> compressors;
+
+    // Only used where a transaction is requested explicitly, e.g. batch writes.
+    // Transactions must read from the primary whatever the client-wide read preference is.
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory, TransactionOptions.builder()
+                .readPreference(ReadPreference.primary())
+                .build());
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer tuningMongoCustomizer(MeterRegistry meterRegistry) {
+        Profile defaults = Profile.of(profile);
+        // Boot has applied the URI already, customizers run after it; only a property may override it
+        ConnectionString connectionString = uri.isBlank() ? null : new ConnectionString(uri);
+        ReadPreference uriPreference = connectionString == null ? null : connectionString.getReadPreference();
+        ReadConcern uriConcern = connectionString == null ? null : connectionString.getReadConcern();
+        Integer uriMaxSize = connectionString == null ? null : connectionString.getMaxConnectionPoolSize();
+        Integer uriMinSize = connectionString == null ? null : connectionString.getMinConnectionPoolSize();
+        Integer uriMaxWaitMs = connectionString == null ? null : connectionString.getMaxWaitTime();
+        List<MongoCompressor> uriCompressors = connectionString == null ? List.of() : connectionString.getCompressorList();
+
+        ReadPreference preference = !readPreference.isBlank() || uriPreference == null
+                ? readPreference(readPreference.isBlank() ? defaults.readPreference : readPreference,
+                        maxStalenessSeconds > 0 ? maxStalenessSeconds : defaults.maxStalenessSeconds)
+                : uriPreference;
+        ReadConcern concern = !readConcern.isBlank() || uriConcern == null
+                ? new ReadConcern(ReadConcernLevel.fromString(readConcern.isBlank() ? defaults.readConcern : readConcern))
+                : uriConcern;
+        int maxSize = poolMaxSize > 0 ? poolMaxSize : uriMaxSize != null ? uriMaxSize : defaults.poolMaxSize;
+        int minSize = Math.min(poolMinSize >= 0 ? poolMinSize : uriMinSize != null ? uriMinSize : defaults.poolMinSize,
+                maxSize);
+        long maxWaitMs = poolMaxWaitMs > 0 ? poolMaxWaitMs : uriMaxWaitMs != null ? uriMaxWaitMs : defaults.poolMaxWaitMs;
+        List<MongoCompressor> wireCompressors = !compressors.isEmpty() ? compressors(compressors)
+                : !uriCompressors.isEmpty() ? uriCompressors
+                : compressors(DEFAULT_COMPRESSORS);
+
+        log.info("Mongo client profile {}: read preference {}, read concern {}, pool {}-{}, compressors {}",
+                profile, preference.getName(), concern.getLevel(), minSize, maxSize,
+                wireCompressors.stream().map(MongoCompressor::getName).toList());
+
+        return settings -> {
+            settings.readPreference(preference)
+                    .readConcern(concern)
+                    .compressorList(wireCompressors);
+            settings.applyToConnectionPoolSettings(pool -> {
+                pool.maxSize(maxSize)
+                        .minSize(minSize)
+                        .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(new PoolCheckoutListener(meterRegistry));
+                if (poolMaxIdleMs > 0) {
+                    pool.maxConnectionIdleTime(poolMaxIdleMs, TimeUnit.MILLISECONDS);
+                }
+                if (poolMaxConnecting > 0) {
+                    pool.maxConnecting(poolMaxConnecting);
+                }
+            });
+            settings.applyToSocketSettings(socket -> {
+                if (connectTimeoutMs > 0) {
+                    socket.connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS);
+                }
+                if (socketTimeoutMs > 0) {
+                    socket.readTimeout(socketTimeoutMs, TimeUnit.MILLISECONDS);
+                }
+            });
+            if (serverSelectionTimeoutMs > 0) {
+                settings.applyToClusterSettings(cluster ->
+                        cluster.serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS));
+            }
+        };
+    }
+
+    private static ReadPreference readPreference(String name, long maxStalenessSeconds) {
+        // Staleness does not apply to the primary
+        if ("primary".equalsIgnoreCase(name) || maxStalenessSeconds <= 0) {
+            return ReadPreference.valueOf(name);
+        }
+        return ReadPreference.valueOf(name, List.of(), maxStalenessSeconds, TimeUnit.SECONDS);
+    }
+
+    // Offered to the server in order, it picks the first one it supports
+    private static List<MongoCompressor> compressors(List<String> names) {
+        List<MongoCompressor> compressors = new ArrayList<>();
+        for (String name : names) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "zstd" -> compressors.add(MongoCompressor.createZstdCompressor());
+                case "snappy" -> compressors.add(MongoCompressor.createSnappyCompressor());
+                case "zlib" -> compressors.add(MongoCompressor.createZlibCompressor());
+                case "", "none" -> { }
+                default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+            }
+        }
+        return compressors;
+    }
+
+    private enum Profile {
+        ADMIN_CONSISTENT("primary", 0, "majority", 20, 0, 2_000),
+        // Max staleness has to be at least 90 seconds
+        READ_HEAVY_PUBLIC("secondaryPreferred", 90, "local", 100, 10, 1_000);
+
+        private final String readPreference;
+        private final long maxStalenessSeconds;
+        private final String readConcern;
+        private final int poolMaxSize;
+        private final int poolMinSize;
+        private final long poolMaxWaitMs;
+
+        Profile(String readPreference, long maxStalenessSeconds, String readConcern,
+                int poolMaxSize, int poolMinSize, long poolMaxWaitMs) {
+            this.readPreference = readPreference;
+            this.maxStalenessSeconds = maxStalenessSeconds;
+            this.readConcern = readConcern;
+            this.poolMaxSize = poolMaxSize;
+            this.poolMinSize = poolMinSize;
+            this.poolMaxWaitMs = poolMaxWaitMs;
+        }
+
+        static Profile of(String name) {
+            return Profile.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+}
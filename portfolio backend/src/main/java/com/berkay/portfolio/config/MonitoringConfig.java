@@ -0,0 +1,32 @@
+package com.berkay.portfolio.config;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.berkay.portfolio.monitoring.RequestTimingCommandListener;
+import com.berkay.portfolio.monitoring.SlowCommandListener;
+import com.berkay.portfolio.monitoring.SlowCommandLog;
+import com.berkay.portfolio.monitoring.TimedJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@Configuration
+public class MonitoringConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer requestTimingMongoCustomizer() {
+        return settings -> settings.addCommandListener(new RequestTimingCommandListener());
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer slowCommandMongoCustomizer(SlowCommandLog slowCommandLog) {
+        return settings -> settings.addCommandListener(new SlowCommandListener(slowCommandLog));
+    }
+
+    // Replaces Boot's default Jackson converter so serialization shows up in Server-Timing
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+}
@@ -1,15 +1,22 @@
 package com.berkay.portfolio.config;
 
+import java.net.URI;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.berkay.portfolio.monitoring.S3MetricsPublisher;
+
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
 
 @Configuration
 public class S3Config {
@@ -23,25 +30,33 @@ public class S3Config {
     @Value("${aws.secret-access-key:}")
     private String secretAccessKey;
 
+    // S3-compatible endpoint (e.g. a local stand-in); empty for AWS
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Autowired
+    private S3MetricsPublisher s3MetricsPublisher;
+
     @Bean
     public S3Client s3Client() {
         // Explicitly use Apache HTTP client to avoid conflicts
         SdkHttpClient httpClient = ApacheHttpClient.builder().build();
         
-        if (accessKeyId.isEmpty() || secretAccessKey.isEmpty()) {
-            // Use default credentials provider (IAM roles, environment variables, etc.)
-            return S3Client.builder()
-                    .region(Region.of(region))
-                    .httpClient(httpClient)
-                    .build();
-        } else {
-            // Use explicit credentials
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .httpClient(httpClient)
+                .overrideConfiguration(ClientOverrideConfiguration.builder()
+                        .addMetricPublisher(s3MetricsPublisher)
+                        .build());
+
+        if (!accessKeyId.isEmpty() && !secretAccessKey.isEmpty()) {
+            // Use explicit credentials, otherwise the default provider (IAM roles, environment variables, etc.)
             AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
-            return S3Client.builder()
-                    .region(Region.of(region))
-                    .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                    .httpClient(httpClient)
-                    .build();
+            builder.credentialsProvider(StaticCredentialsProvider.create(awsCredentials));
+        }
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
         }
+        return builder.build();
     }
 }
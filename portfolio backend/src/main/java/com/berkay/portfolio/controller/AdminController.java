@@ -0,0 +1,87 @@
+package com.berkay.portfolio.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.berkay.portfolio.model.ArchiveImportResult;
+import com.berkay.portfolio.model.BackfillJob;
+import com.berkay.portfolio.model.DeletionJob;
+import com.berkay.portfolio.service.PortfolioArchiveService;
+import com.berkay.portfolio.service.ProjectDeletionService;
+import com.berkay.portfolio.service.RichTextBackfillService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminController.class);
+
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+
+    @Autowired
+    private PortfolioArchiveService archiveService;
+
+    @Autowired
+    private ProjectDeletionService projectDeletionService;
+
+    @Autowired
+    private RichTextBackfillService richTextBackfillService;
+
+    // Streams all collections and their media as one ZIP archive
+    @GetMapping("/export")
+    public void export(HttpServletResponse response) throws IOException {
+        response.setContentType(ZIP_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"portfolio-export-" + LocalDate.now() + ".zip\"");
+        archiveService.export(response.getOutputStream());
+    }
+
+    // Status of a background job, e.g. the media cleanup of a deleted project
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        Optional<DeletionJob> deletionJob = projectDeletionService.getJob(id);
+        if (deletionJob.isPresent()) {
+            return ResponseEntity.ok(deletionJob.get());
+        }
+        return richTextBackfillService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Moves inline images of existing rich text to S3 and sanitizes it, in the background
+    @PostMapping("/jobs/rich-text-backfill")
+    public ResponseEntity<BackfillJob> startRichTextBackfill() {
+        BackfillJob job = richTextBackfillService.startJob();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    // Restores an archive created by /export, sent as the raw request body
+    @PostMapping(value = "/import", consumes = { ZIP_CONTENT_TYPE, "application/octet-stream" })
+    public ResponseEntity<?> importArchive(InputStream archive) {
+        try {
+            ArchiveImportResult result = archiveService.importArchive(archive);
+            return ResponseEntity.ok(result);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error importing portfolio archive", e);
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to import archive: " + e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+}
@@ -1,27 +1,43 @@
 package com.berkay.portfolio.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import com.berkay.portfolio.model.Admin;
 import com.berkay.portfolio.repository.AdminRepository;
+import com.berkay.portfolio.service.CredentialRevocationService;
+import com.berkay.portfolio.service.CustomUserDetailsService;
 import com.berkay.portfolio.service.JwtService;
+import com.berkay.portfolio.service.LoginThrottleService;
+import com.berkay.portfolio.service.PasswordHashingRejectedException;
+import com.berkay.portfolio.service.PasswordHashingService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private AuthenticationManager authenticationManager;
 
@@ -32,57 +48,121 @@ public class AuthController {
     private AdminRepository adminRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
-    @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@RequestBody LoginRequest loginRequest) {
-        try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
-            );
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtService.generateToken(userDetails.getUsername());
-            
-            System.out.println("Login successful for user: " + userDetails.getUsername());
-            System.out.println("Generated token: " + token.substring(0, Math.min(50, token.length())) + "...");
+    @Autowired
+    private CredentialRevocationService credentialRevocationService;
 
-            Map<String, String> response = new HashMap<>();
-            response.put("token", token);
-            response.put("username", userDetails.getUsername());
-            response.put("message", "Login successful");
+    @Autowired
+    private LoginThrottleService loginThrottleService;
 
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
+    // Mongo reads and writes and token signing after hashing run here, not on the hashing executor
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor requestExecutor;
+
+    @Value("${login.throttle.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    @PostMapping("/login")
+    public CompletableFuture<ResponseEntity<Map<String, String>>> login(@RequestBody LoginRequest loginRequest, HttpServletRequest httpRequest) {
+        // Throttle before authenticating so rejected attempts never cost a BCrypt comparison
+        String clientIp = clientIp(httpRequest);
+        long retryAfterSeconds = loginThrottleService.tryAcquire(clientIp, loginRequest.getUsername());
+        if (retryAfterSeconds > 0) {
             Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Invalid credentials");
-            return ResponseEntity.badRequest().body(errorResponse);
+            errorResponse.put("error", "Too many login attempts, try again later");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(errorResponse));
         }
+
+        // BCrypt runs on the hashing executor; the request thread is released while it waits
+        return passwordHashingService.submit("verify", () -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())))
+                .thenApplyAsync(authentication -> {
+                    UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+                    Admin admin = userDetailsService.loadAdmin(userDetails.getUsername());
+                    List<String> authorities = userDetails.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .toList();
+                    String token = jwtService.generateToken(
+                            userDetails.getUsername(), userDetailsService.credentialVersion(admin), authorities);
+
+                    log.info("Login successful for user {}", userDetails.getUsername());
+
+                    Map<String, String> response = new HashMap<>();
+                    response.put("token", token);
+                    response.put("username", userDetails.getUsername());
+                    response.put("message", "Login successful");
+
+                    loginThrottleService.recordSuccess(clientIp, loginRequest.getUsername());
+                    return ResponseEntity.ok(response);
+                }, requestExecutor)
+                .exceptionally(error -> {
+                    if (PasswordHashingService.rootCause(error) instanceof PasswordHashingRejectedException) {
+                        return serviceBusy();
+                    }
+                    loginThrottleService.recordFailure(clientIp, loginRequest.getUsername());
+                    Map<String, String> errorResponse = new HashMap<>();
+                    errorResponse.put("error", "Invalid credentials");
+                    return ResponseEntity.badRequest().body(errorResponse);
+                });
     }
 
     @PostMapping("/change-password")
-    public ResponseEntity<Map<String, String>> changePassword(@RequestBody ChangePasswordRequest request) {
+    public CompletableFuture<ResponseEntity<Map<String, String>>> changePassword(@RequestBody ChangePasswordRequest request) {
+        Optional<Admin> adminOpt;
         try {
-            Optional<Admin> adminOpt = adminRepository.findByUsername(request.getUsername());
-            if (!adminOpt.isPresent()) {
-                Map<String, String> errorResponse = new HashMap<>();
-                errorResponse.put("error", "Admin not found");
-                return ResponseEntity.badRequest().body(errorResponse);
-            }
-
-            Admin admin = adminOpt.get();
-            // In a real application, you should verify the old password
-            admin.setPassword(passwordEncoder.encode(request.getNewPassword()));
-            adminRepository.save(admin);
-
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Password changed successfully");
-            return ResponseEntity.ok(response);
+            adminOpt = adminRepository.findByUsername(request.getUsername());
         } catch (Exception e) {
+            return CompletableFuture.completedFuture(changePasswordFailed());
+        }
+        if (!adminOpt.isPresent()) {
             Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("error", "Failed to change password");
-            return ResponseEntity.badRequest().body(errorResponse);
+            errorResponse.put("error", "Admin not found");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errorResponse));
         }
+
+        Admin admin = adminOpt.get();
+        // In a real application, you should verify the old password
+        return passwordHashingService.encodeAsync(request.getNewPassword())
+                .thenApplyAsync(encodedPassword -> {
+                    String oldCredentialVersion = admin.getCredentialVersion();
+                    admin.setPassword(encodedPassword);
+                    admin.setCredentialVersion(CustomUserDetailsService.newCredentialVersion());
+                    adminRepository.save(admin);
+                    userDetailsService.evict(admin.getUsername());
+                    // Tokens issued with the old credentials stop working on every instance
+                    credentialRevocationService.revoke(oldCredentialVersion, admin.getUsername());
+
+                    Map<String, String> response = new HashMap<>();
+                    response.put("message", "Password changed successfully");
+                    return ResponseEntity.ok(response);
+                }, requestExecutor)
+                .exceptionally(error -> {
+                    if (PasswordHashingService.rootCause(error) instanceof PasswordHashingRejectedException) {
+                        return serviceBusy();
+                    }
+                    return changePasswordFailed();
+                });
+    }
+
+    private ResponseEntity<Map<String, String>> changePasswordFailed() {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Failed to change password");
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+
+    private ResponseEntity<Map<String, String>> serviceBusy() {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", "Authentication is busy, try again shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
     }
 
     @PostMapping("/change-username")
@@ -103,8 +183,14 @@ public class AuthController {
             }
 
             Admin admin = adminOpt.get();
+            String oldCredentialVersion = admin.getCredentialVersion();
             admin.setUsername(request.getNewUsername());
+            admin.setCredentialVersion(CustomUserDetailsService.newCredentialVersion());
             adminRepository.save(admin);
+            userDetailsService.evict(request.getOldUsername());
+            userDetailsService.evict(request.getNewUsername());
+            // Tokens still carry the old username as subject
+            credentialRevocationService.revoke(oldCredentialVersion, request.getOldUsername());
 
             Map<String, String> response = new HashMap<>();
             response.put("message", "Username changed successfully");
@@ -116,6 +202,17 @@ public class AuthController {
         }
     }
 
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            // Only meaningful behind a proxy that overwrites the header; the first entry is the client
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
     // Inner classes for request bodies
     public static class LoginRequest {
         private String username;
@@ -1,15 +1,20 @@
 package com.berkay.portfolio.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.berkay.portfolio.model.BatchRequest;
 import com.berkay.portfolio.model.EducationHistory;
+import com.berkay.portfolio.service.BatchWriteService;
+import com.berkay.portfolio.service.PatchService;
 import com.berkay.portfolio.service.PortfolioService;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -19,6 +24,12 @@ public class EducationHistoryController {
     @Autowired
     private PortfolioService portfolioService;
 
+    @Autowired
+    private PatchService patchService;
+
+    @Autowired
+    private BatchWriteService batchWriteService;
+
     @GetMapping("/fetch")
     public ResponseEntity<List<EducationHistory>> getAllEducationHistory() {
         List<EducationHistory> educationHistoryList = portfolioService.getAllEducationHistory();
@@ -28,7 +39,7 @@ public class EducationHistoryController {
     @GetMapping("/{id}")
     public ResponseEntity<EducationHistory> getEducationHistoryById(@PathVariable String id) {
         Optional<EducationHistory> educationHistory = portfolioService.getEducationHistoryById(id);
-        return educationHistory.map(ResponseEntity::ok)
+        return educationHistory.map(VersionedResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -38,18 +49,34 @@ public class EducationHistoryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedEducationHistory);
     }
 
+    // Replaces the whole document; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}")
-    public ResponseEntity<EducationHistory> updateEducationHistory(@PathVariable String id, @Valid @RequestBody EducationHistory educationHistory) {
+    public ResponseEntity<?> updateEducationHistory(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody EducationHistory educationHistory) {
         Optional<EducationHistory> existingEducationHistory = portfolioService.getEducationHistoryById(id);
         if (existingEducationHistory.isPresent()) {
             educationHistory.setId(id);
-            EducationHistory updatedEducationHistory = portfolioService.saveEducationHistory(educationHistory);
-            return ResponseEntity.ok(updatedEducationHistory);
+            return VersionedResponses.replace(portfolioService, id, educationHistory, existingEducationHistory.get(), ifMatch);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Updates only the given fields; If-Match must carry the ETag the changes are based on
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchEducationHistory(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> changes) {
+        return VersionedResponses.patch(patchService, EducationHistory.class, id, ifMatch, changes);
+    }
+
+    // Creates, updates, reorders and deletes many documents in one bulk write
+    @PostMapping("/batch")
+    public ResponseEntity<?> batchEducationHistory(@Valid @RequestBody BatchRequest<EducationHistory> request) {
+        return VersionedResponses.batch(batchWriteService, EducationHistory.class, request);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEducationHistory(@PathVariable String id) {
         Optional<EducationHistory> educationHistory = portfolioService.getEducationHistoryById(id);
@@ -1,16 +1,26 @@
 package com.berkay.portfolio.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.berkay.portfolio.model.BatchRequest;
 import com.berkay.portfolio.model.JobHistory;
+import com.berkay.portfolio.model.MediaMetadata;
+import com.berkay.portfolio.service.BatchWriteService;
+import com.berkay.portfolio.service.PatchService;
 import com.berkay.portfolio.service.PortfolioService;
 import com.berkay.portfolio.service.MediaService;
+import com.berkay.portfolio.service.UploadedMedia;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.time.LocalDate;
 import org.springframework.web.multipart.MultipartFile;
@@ -19,9 +29,17 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/job-history")
 public class JobHistoryController {
 
+    private static final Logger log = LoggerFactory.getLogger(JobHistoryController.class);
+
     @Autowired
     private PortfolioService portfolioService;
 
+    @Autowired
+    private PatchService patchService;
+
+    @Autowired
+    private BatchWriteService batchWriteService;
+
     @Autowired
     private MediaService mediaService;
 
@@ -34,7 +52,7 @@ public class JobHistoryController {
     @GetMapping("/{id}")
     public ResponseEntity<JobHistory> getJobHistoryById(@PathVariable String id) {
         Optional<JobHistory> jobHistory = portfolioService.getJobHistoryById(id);
-        return jobHistory.map(ResponseEntity::ok)
+        return jobHistory.map(VersionedResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -59,10 +77,13 @@ public class JobHistoryController {
         
         try {
             String companyLogoUrl = null;
+            MediaMetadata companyLogoMetadata = null;
 
             // Upload company logo if provided
             if (companyLogo != null && !companyLogo.isEmpty()) {
-                companyLogoUrl = mediaService.uploadFile(companyLogo, "job-history");
+                UploadedMedia uploaded = mediaService.uploadMedia(companyLogo, "job-history");
+                companyLogoUrl = uploaded.getUrl();
+                companyLogoMetadata = uploaded.getMetadata();
             }
 
             // Parse dates
@@ -80,6 +101,7 @@ public class JobHistoryController {
             jobHistory.setLocation(location);
             jobHistory.setDisplayOrder(displayOrder);
             jobHistory.setCompanyLogo(companyLogoUrl);
+            jobHistory.setCompanyLogoMetadata(companyLogoMetadata);
 
             JobHistory savedJobHistory = portfolioService.saveJobHistory(jobHistory);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedJobHistory);
@@ -88,22 +110,31 @@ public class JobHistoryController {
         }
     }
 
+    // Replaces the whole document; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}")
-    public ResponseEntity<JobHistory> updateJobHistory(@PathVariable String id, @Valid @RequestBody JobHistory jobHistory) {
+    public ResponseEntity<?> updateJobHistory(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody JobHistory jobHistory) {
         Optional<JobHistory> existingJobHistory = portfolioService.getJobHistoryById(id);
         if (existingJobHistory.isPresent()) {
             jobHistory.setId(id);
-            JobHistory updatedJobHistory = portfolioService.saveJobHistory(jobHistory);
-            return ResponseEntity.ok(updatedJobHistory);
+            // Keep the stored metadata when the client sends the same logo back without it
+            JobHistory currentJobHistory = existingJobHistory.get();
+            if (jobHistory.getCompanyLogoMetadata() == null
+                    && Objects.equals(jobHistory.getCompanyLogo(), currentJobHistory.getCompanyLogo())) {
+                jobHistory.setCompanyLogoMetadata(currentJobHistory.getCompanyLogoMetadata());
+            }
+            return VersionedResponses.replace(portfolioService, id, jobHistory, currentJobHistory, ifMatch);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
-    // Update job history with media upload
+    // Update job history with media upload; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}/with-media")
-    public ResponseEntity<JobHistory> updateJobHistoryWithMedia(
+    public ResponseEntity<?> updateJobHistoryWithMedia(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam("companyName") String companyName,
             @RequestParam("jobTitle") String jobTitle,
             @RequestParam("startDate") String startDate,
@@ -121,11 +152,17 @@ public class JobHistoryController {
             }
 
             String oldCompanyLogoUrl = null;
+            String newCompanyLogoUrl = null;
             JobHistory currentJobHistory = existingJobHistory.get();
+            long basedOn = VersionedResponses.basedOn(ifMatch, currentJobHistory);
             String companyLogoUrl = currentJobHistory.getCompanyLogo();
+            MediaMetadata companyLogoMetadata = currentJobHistory.getCompanyLogoMetadata();
             // Upload new company logo if provided
             if (companyLogo != null && !companyLogo.isEmpty()) {
-                companyLogoUrl = mediaService.uploadFile(companyLogo, "job-history");
+                UploadedMedia uploaded = mediaService.uploadMedia(companyLogo, "job-history");
+                companyLogoUrl = uploaded.getUrl();
+                companyLogoMetadata = uploaded.getMetadata();
+                newCompanyLogoUrl = companyLogoUrl;
                 oldCompanyLogoUrl = currentJobHistory.getCompanyLogo();
             }
 
@@ -141,20 +178,42 @@ public class JobHistoryController {
                     .location(location)
                     .displayOrder(displayOrder)
                     .companyLogo(companyLogoUrl)
+                    .companyLogoMetadata(companyLogoMetadata)
                     .build();
 
-            JobHistory savedJobHistory = portfolioService.saveJobHistory(updatedJobHistory);
-            if (oldCompanyLogoUrl != null) {
-                mediaService.deleteFile(oldCompanyLogoUrl);
-            }
-            return ResponseEntity.ok(savedJobHistory);
+            String replacedLogo = oldCompanyLogoUrl;
+            String uploadedLogo = newCompanyLogoUrl;
+            return VersionedResponses.replace(portfolioService, id, updatedJobHistory, basedOn,
+                    savedJobHistory -> {
+                        if (replacedLogo != null) {
+                            mediaService.deleteFile(replacedLogo);
+                        }
+                    },
+                    () -> {
+                        if (uploadedLogo != null) {
+                            mediaService.deleteFile(uploadedLogo);
+                        }
+                    });
         } catch (Exception e) {
-            System.out.println("Error in updateJobHistoryWithMedia: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in updateJobHistoryWithMedia", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Updates only the given fields; If-Match must carry the ETag the changes are based on
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchJobHistory(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> changes) {
+        return VersionedResponses.patch(patchService, JobHistory.class, id, ifMatch, changes);
+    }
+
+    // Creates, updates, reorders and deletes many documents in one bulk write
+    @PostMapping("/batch")
+    public ResponseEntity<?> batchJobHistory(@Valid @RequestBody BatchRequest<JobHistory> request) {
+        return VersionedResponses.batch(batchWriteService, JobHistory.class, request);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteJobHistory(@PathVariable String id) {
         Optional<JobHistory> jobHistory = portfolioService.getJobHistoryById(id);
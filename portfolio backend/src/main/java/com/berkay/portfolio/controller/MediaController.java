@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.berkay.portfolio.service.MediaService;
+import com.berkay.portfolio.service.UploadedMedia;
 
 @RestController
 @RequestMapping("/api/media")
@@ -23,24 +24,26 @@ public class MediaController {
     private MediaService mediaService;
 
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, String>> uploadFile(
+    public ResponseEntity<Map<String, Object>> uploadFile(
             @RequestParam("file") MultipartFile file,
             @RequestParam("folder") String folder) {
         
         try {
             // Returns S3 key (e.g., "profile-pictures/uuid_filename.jpg")
-            String s3Key = mediaService.uploadFile(file, folder);
+            UploadedMedia uploaded = mediaService.uploadMedia(file, folder);
+            String s3Key = uploaded.getUrl();
             
             // Generate presigned URL for immediate use
             String presignedUrl = mediaService.getPresignedUrl(s3Key);
             
-            Map<String, String> response = new HashMap<>();
+            Map<String, Object> response = new HashMap<>();
             response.put("key", s3Key); // Store this in database
             response.put("url", presignedUrl); // Use this for immediate display
+            response.put("metadata", uploaded.getMetadata()); // Store next to the key for layout and placeholders
             response.put("message", "File uploaded successfully");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            Map<String, String> errorResponse = new HashMap<>();
+            Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to upload file: " + e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
         }
@@ -1,16 +1,25 @@
 package com.berkay.portfolio.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.berkay.portfolio.model.MediaMetadata;
 import com.berkay.portfolio.model.PersonalInfo;
+import com.berkay.portfolio.service.PatchService;
 import com.berkay.portfolio.service.PortfolioService;
 import com.berkay.portfolio.service.MediaService;
+import com.berkay.portfolio.service.UploadedMedia;
 
 import jakarta.validation.Valid;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -18,9 +27,14 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("/api/personal-info")
 public class PersonalInfoController {
 
+    private static final Logger log = LoggerFactory.getLogger(PersonalInfoController.class);
+
     @Autowired
     private PortfolioService portfolioService;
 
+    @Autowired
+    private PatchService patchService;
+
     @Autowired
     private MediaService mediaService;
 
@@ -33,7 +47,7 @@ public class PersonalInfoController {
     @GetMapping("/{id}")
     public ResponseEntity<PersonalInfo> getPersonalInfoById(@PathVariable String id) {
         Optional<PersonalInfo> personalInfo = portfolioService.getPersonalInfoById(id);
-        return personalInfo.map(ResponseEntity::ok)
+        return personalInfo.map(VersionedResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -59,15 +73,15 @@ public class PersonalInfoController {
             @RequestParam(value = "resume", required = false) MultipartFile resume) {
         
         try {
-            System.out.println("Received data: name=" + name + ", email=" + email + ", phone=" + phone);
-            System.out.println("Profile picture: " + (profilePicture != null ? profilePicture.getOriginalFilename() : "null"));
-            System.out.println("Resume: " + (resume != null ? resume.getOriginalFilename() : "null"));
             String profilePictureUrl = null;
+            MediaMetadata profilePictureMetadata = null;
             String resumeUrl = null;
 
             // Upload profile picture if provided
             if (profilePicture != null && !profilePicture.isEmpty()) {
-                profilePictureUrl = mediaService.uploadFile(profilePicture, "personal-info");
+                UploadedMedia uploaded = mediaService.uploadMedia(profilePicture, "personal-info");
+                profilePictureUrl = uploaded.getUrl();
+                profilePictureMetadata = uploaded.getMetadata();
             }
 
             // Upload resume if provided
@@ -87,34 +101,43 @@ public class PersonalInfoController {
                     .country(country)
                     .workTitle(workTitle)
                     .profilePicture(profilePictureUrl)
+                    .profilePictureMetadata(profilePictureMetadata)
                     .resume(resumeUrl)
                     .build();
 
             PersonalInfo savedPersonalInfo = portfolioService.savePersonalInfo(personalInfo);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedPersonalInfo);
         } catch (Exception e) {
-            System.out.println("Error in createPersonalInfoWithMedia: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in createPersonalInfoWithMedia", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Replaces the whole document; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}")
-    public ResponseEntity<PersonalInfo> updatePersonalInfo(@PathVariable String id, @Valid @RequestBody PersonalInfo personalInfo) {
+    public ResponseEntity<?> updatePersonalInfo(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody PersonalInfo personalInfo) {
         Optional<PersonalInfo> existingPersonalInfo = portfolioService.getPersonalInfoById(id);
         if (existingPersonalInfo.isPresent()) {
             personalInfo.setId(id);
-            PersonalInfo updatedPersonalInfo = portfolioService.savePersonalInfo(personalInfo);
-            return ResponseEntity.ok(updatedPersonalInfo);
+            // Keep the stored metadata when the client sends the same picture back without it
+            PersonalInfo currentInfo = existingPersonalInfo.get();
+            if (personalInfo.getProfilePictureMetadata() == null
+                    && Objects.equals(personalInfo.getProfilePicture(), currentInfo.getProfilePicture())) {
+                personalInfo.setProfilePictureMetadata(currentInfo.getProfilePictureMetadata());
+            }
+            return VersionedResponses.replace(portfolioService, id, personalInfo, currentInfo, ifMatch);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
-    // Update personal info with media upload
+    // Update personal info with media upload; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}/with-media")
-    public ResponseEntity<PersonalInfo> updatePersonalInfoWithMedia(
+    public ResponseEntity<?> updatePersonalInfoWithMedia(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam("name") String name,
             @RequestParam("email") String email,
             @RequestParam("phone") String phone,
@@ -133,22 +156,32 @@ public class PersonalInfoController {
                 return ResponseEntity.notFound().build();
             }
 
-            String oldProfilePictureUrl = null;
-            String oldResumeUrl = null;
+            List<String> oldFiles = new ArrayList<>();
+            List<String> newFiles = new ArrayList<>();
             PersonalInfo currentInfo = existingPersonalInfo.get();
+            long basedOn = VersionedResponses.basedOn(ifMatch, currentInfo);
             String profilePictureUrl = currentInfo.getProfilePicture();
+            MediaMetadata profilePictureMetadata = currentInfo.getProfilePictureMetadata();
             String resumeUrl = currentInfo.getResume();
 
             // Upload new profile picture if provided
             if (profilePicture != null && !profilePicture.isEmpty()) {
-                profilePictureUrl = mediaService.uploadFile(profilePicture, "personal-info");
-                oldProfilePictureUrl = currentInfo.getProfilePicture();
+                UploadedMedia uploaded = mediaService.uploadMedia(profilePicture, "personal-info");
+                profilePictureUrl = uploaded.getUrl();
+                profilePictureMetadata = uploaded.getMetadata();
+                newFiles.add(profilePictureUrl);
+                if (currentInfo.getProfilePicture() != null) {
+                    oldFiles.add(currentInfo.getProfilePicture());
+                }
             }
 
             // Upload new resume if provided
             if (resume != null && !resume.isEmpty()) {
                 resumeUrl = mediaService.uploadFile(resume, "personal-info");
-                oldResumeUrl = currentInfo.getResume();
+                newFiles.add(resumeUrl);
+                if (currentInfo.getResume() != null) {
+                    oldFiles.add(currentInfo.getResume());
+                }
             }
 
             // Update personal info entity
@@ -164,24 +197,27 @@ public class PersonalInfoController {
                     .country(country)
                     .workTitle(workTitle)
                     .profilePicture(profilePictureUrl)
+                    .profilePictureMetadata(profilePictureMetadata)
                     .resume(resumeUrl)
                     .build();
 
-            PersonalInfo savedPersonalInfo = portfolioService.savePersonalInfo(updatedPersonalInfo);
-            if (oldProfilePictureUrl != null) {
-                mediaService.deleteFile(oldProfilePictureUrl);
-            }
-            if (oldResumeUrl != null) {
-                mediaService.deleteFile(oldResumeUrl);
-            }
-            return ResponseEntity.ok(savedPersonalInfo);
+            return VersionedResponses.replace(portfolioService, id, updatedPersonalInfo, basedOn,
+                    savedPersonalInfo -> oldFiles.forEach(mediaService::deleteFile),
+                    () -> newFiles.forEach(mediaService::deleteFile));
         } catch (Exception e) {
-            System.out.println("Error in updatePersonalInfoWithMedia: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in updatePersonalInfoWithMedia", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Updates only the given fields; If-Match must carry the ETag the changes are based on
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchPersonalInfo(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> changes) {
+        return VersionedResponses.patch(patchService, PersonalInfo.class, id, ifMatch, changes);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePersonalInfo(@PathVariable String id) {
         Optional<PersonalInfo> personalInfo = portfolioService.getPersonalInfoById(id);
@@ -1,15 +1,20 @@
 package com.berkay.portfolio.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.berkay.portfolio.model.BatchRequest;
 import com.berkay.portfolio.model.ProfessionalSkills;
+import com.berkay.portfolio.service.BatchWriteService;
+import com.berkay.portfolio.service.PatchService;
 import com.berkay.portfolio.service.PortfolioService;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -19,6 +24,12 @@ public class ProfessionalSkillsController {
     @Autowired
     private PortfolioService portfolioService;
 
+    @Autowired
+    private PatchService patchService;
+
+    @Autowired
+    private BatchWriteService batchWriteService;
+
     @GetMapping("/fetch")
     public ResponseEntity<List<ProfessionalSkills>> getAllProfessionalSkills() {
         List<ProfessionalSkills> skillsList = portfolioService.getAllProfessionalSkills();
@@ -28,7 +39,7 @@ public class ProfessionalSkillsController {
     @GetMapping("/{id}")
     public ResponseEntity<ProfessionalSkills> getProfessionalSkillsById(@PathVariable String id) {
         Optional<ProfessionalSkills> skills = portfolioService.getProfessionalSkillsById(id);
-        return skills.map(ResponseEntity::ok)
+        return skills.map(VersionedResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -38,18 +49,34 @@ public class ProfessionalSkillsController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedSkills);
     }
 
+    // Replaces the whole document; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}")
-    public ResponseEntity<ProfessionalSkills> updateProfessionalSkills(@PathVariable String id, @Valid @RequestBody ProfessionalSkills skills) {
+    public ResponseEntity<?> updateProfessionalSkills(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ProfessionalSkills skills) {
         Optional<ProfessionalSkills> existingSkills = portfolioService.getProfessionalSkillsById(id);
         if (existingSkills.isPresent()) {
             skills.setId(id);
-            ProfessionalSkills updatedSkills = portfolioService.saveProfessionalSkills(skills);
-            return ResponseEntity.ok(updatedSkills);
+            return VersionedResponses.replace(portfolioService, id, skills, existingSkills.get(), ifMatch);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
+    // Updates only the given fields; If-Match must carry the ETag the changes are based on
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchProfessionalSkills(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> changes) {
+        return VersionedResponses.patch(patchService, ProfessionalSkills.class, id, ifMatch, changes);
+    }
+
+    // Creates, updates, reorders and deletes many documents in one bulk write
+    @PostMapping("/batch")
+    public ResponseEntity<?> batchProfessionalSkills(@Valid @RequestBody BatchRequest<ProfessionalSkills> request) {
+        return VersionedResponses.batch(batchWriteService, ProfessionalSkills.class, request);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProfessionalSkills(@PathVariable String id) {
         Optional<ProfessionalSkills> skills = portfolioService.getProfessionalSkillsById(id);
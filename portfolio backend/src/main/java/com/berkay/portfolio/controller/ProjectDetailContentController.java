@@ -1,46 +1,71 @@
 package com.berkay.portfolio.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.berkay.portfolio.model.MediaMetadata;
+import com.berkay.portfolio.model.BatchRequest;
 import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.service.BatchWriteService;
+import com.berkay.portfolio.service.InlineMediaExtractor;
+import com.berkay.portfolio.service.PatchService;
 import com.berkay.portfolio.service.PortfolioService;
+import com.berkay.portfolio.service.MediaReferences;
 import com.berkay.portfolio.service.MediaService;
+import com.berkay.portfolio.service.UploadedMedia;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/project-detail-content")
 public class ProjectDetailContentController {
 
+    private static final Logger log = LoggerFactory.getLogger(ProjectDetailContentController.class);
+
     @Autowired
     private PortfolioService portfolioService;
 
+    @Autowired
+    private PatchService patchService;
+
+    @Autowired
+    private BatchWriteService batchWriteService;
+
     @Autowired
     private MediaService mediaService;
 
+    @Autowired
+    private InlineMediaExtractor inlineMediaExtractor;
+
+    // ?view=summary leaves out the HTML of TEXT content, list pages show its summary instead
     @GetMapping("/fetch")
-    public ResponseEntity<List<ProjectDetailContent>> getAllProjectDetailContent() {
+    public ResponseEntity<List<ProjectDetailContent>> getAllProjectDetailContent(@RequestParam(required = false) String view) {
         List<ProjectDetailContent> contentList = portfolioService.getAllProjectDetailContent();
-        return ResponseEntity.ok(contentList);
+        return ResponseEntity.ok(view(contentList, view));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ProjectDetailContent> getProjectDetailContentById(@PathVariable String id) {
         Optional<ProjectDetailContent> content = portfolioService.getProjectDetailContentById(id);
-        return content.map(ResponseEntity::ok)
+        return content.map(VersionedResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<ProjectDetailContent>> getProjectDetailContentByProjectId(@PathVariable String projectId) {
+    public ResponseEntity<List<ProjectDetailContent>> getProjectDetailContentByProjectId(@PathVariable String projectId,
+                                                                                         @RequestParam(required = false) String view) {
         List<ProjectDetailContent> contentList = portfolioService.getProjectDetailContentByProjectId(projectId);
-        return ResponseEntity.ok(contentList);
+        return ResponseEntity.ok(view(contentList, view));
     }
 
     @PostMapping
@@ -60,11 +85,14 @@ public class ProjectDetailContentController {
         
         try {
             String projectDetailContent = null;
+            MediaMetadata projectDetailContentMetadata = null;
 
             // Handle media upload for IMAGE or VIDEO types
             if (mediaFile != null && !mediaFile.isEmpty()) {
                 String folder = "project-details";
-                projectDetailContent = mediaService.uploadFile(mediaFile, folder);
+                UploadedMedia uploaded = mediaService.uploadMedia(mediaFile, folder);
+                projectDetailContent = uploaded.getUrl();
+                projectDetailContentMetadata = uploaded.getMetadata();
             } else if (textContent != null && !textContent.isEmpty()) {
                 // For TEXT type, use the text content directly
                 projectDetailContent = textContent;
@@ -79,6 +107,7 @@ public class ProjectDetailContentController {
             content.setProjectId(projectId);
             content.setProjectDetailContentType(contentType);
             content.setProjectDetailContent(projectDetailContent);
+            content.setProjectDetailContentMetadata(projectDetailContentMetadata);
             content.setDisplayOrder(displayOrder);
 
             ProjectDetailContent savedContent = portfolioService.saveProjectDetailContent(content);
@@ -88,22 +117,32 @@ public class ProjectDetailContentController {
         }
     }
 
+    // Replaces the whole document; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}")
-    public ResponseEntity<ProjectDetailContent> updateProjectDetailContent(@PathVariable String id, @Valid @RequestBody ProjectDetailContent content) {
+    public ResponseEntity<?> updateProjectDetailContent(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ProjectDetailContent content) {
         Optional<ProjectDetailContent> existingContent = portfolioService.getProjectDetailContentById(id);
         if (existingContent.isPresent()) {
             content.setId(id);
-            ProjectDetailContent updatedContent = portfolioService.saveProjectDetailContent(content);
-            return ResponseEntity.ok(updatedContent);
+            // Keep the stored metadata when the client sends the same media back without it
+            ProjectDetailContent currentContent = existingContent.get();
+            if (content.getProjectDetailContentMetadata() == null
+                    && Objects.equals(content.getProjectDetailContent(), currentContent.getProjectDetailContent())) {
+                content.setProjectDetailContentMetadata(currentContent.getProjectDetailContentMetadata());
+            }
+            return VersionedResponses.replace(portfolioService, id, content, currentContent, ifMatch,
+                    updatedContent -> deleteRemovedImages(currentContent, updatedContent));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
-    // Update project detail content with media upload
+    // Update project detail content with media upload; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}/with-media")
-    public ResponseEntity<ProjectDetailContent> updateProjectDetailContentWithMedia(
+    public ResponseEntity<?> updateProjectDetailContentWithMedia(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam("projectId") String projectId,
             @RequestParam("projectDetailContentType") String projectDetailContentType,
             @RequestParam("displayOrder") Integer displayOrder,
@@ -118,16 +157,22 @@ public class ProjectDetailContentController {
 
             String oldProjectDetailContent = null;
             ProjectDetailContent currentContent = existingContent.get();
+            long basedOn = VersionedResponses.basedOn(ifMatch, currentContent);
             String projectDetailContent = currentContent.getProjectDetailContent();
+            MediaMetadata projectDetailContentMetadata = currentContent.getProjectDetailContentMetadata();
 
             // Handle media upload for IMAGE or VIDEO types
+            UploadedMedia uploaded = null;
             if (mediaFile != null && !mediaFile.isEmpty()) {
                 String folder = "project-details";
-                projectDetailContent = mediaService.uploadFile(mediaFile, folder);
+                uploaded = mediaService.uploadMedia(mediaFile, folder);
+                projectDetailContent = uploaded.getUrl();
+                projectDetailContentMetadata = uploaded.getMetadata();
                 oldProjectDetailContent = currentContent.getProjectDetailContent();
             } else if (textContent != null && !textContent.isEmpty()) {
                 // For TEXT type, use the text content directly
                 projectDetailContent = textContent;
+                projectDetailContentMetadata = null;
             }
 
             // Parse enum
@@ -140,20 +185,43 @@ public class ProjectDetailContentController {
             updatedContent.setProjectId(projectId);
             updatedContent.setProjectDetailContentType(contentType);
             updatedContent.setProjectDetailContent(projectDetailContent);
+            updatedContent.setProjectDetailContentMetadata(projectDetailContentMetadata);
             updatedContent.setDisplayOrder(displayOrder);
 
-            ProjectDetailContent savedContent = portfolioService.saveProjectDetailContent(updatedContent);
-            if (oldProjectDetailContent != null) {
-                mediaService.deleteFile(oldProjectDetailContent);
-            }
-            return ResponseEntity.ok(savedContent);
+            String replacedMedia = oldProjectDetailContent;
+            UploadedMedia newMedia = uploaded;
+            return VersionedResponses.replace(portfolioService, id, updatedContent, basedOn,
+                    savedContent -> {
+                        if (replacedMedia != null) {
+                            mediaService.deleteMedia(replacedMedia, currentContent.getProjectDetailContentMetadata());
+                        }
+                        deleteRemovedImages(currentContent, savedContent);
+                    },
+                    () -> {
+                        if (newMedia != null) {
+                            mediaService.deleteMedia(newMedia.getUrl(), newMedia.getMetadata());
+                        }
+                    });
         } catch (Exception e) {
-            System.out.println("Error in updateProjectDetailContentWithMedia: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in updateProjectDetailContentWithMedia", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Updates only the given fields; If-Match must carry the ETag the changes are based on
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchProjectDetailContent(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> changes) {
+        return VersionedResponses.patch(patchService, ProjectDetailContent.class, id, ifMatch, changes);
+    }
+
+    // Creates, updates, reorders and deletes many documents in one bulk write
+    @PostMapping("/batch")
+    public ResponseEntity<?> batchProjectDetailContent(@Valid @RequestBody BatchRequest<ProjectDetailContent> request) {
+        return VersionedResponses.batch(batchWriteService, ProjectDetailContent.class, request);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProjectDetailContent(@PathVariable String id) {
         Optional<ProjectDetailContent> content = portfolioService.getProjectDetailContentById(id);
@@ -162,11 +230,36 @@ public class ProjectDetailContentController {
             String projectDetailContentType = content.get().getProjectDetailContentType().name();
             portfolioService.deleteProjectDetailContent(id);
             if (projectDetailContent != null && !projectDetailContentType.equals("TEXT")) {
-                mediaService.deleteFile(projectDetailContent);
+                mediaService.deleteMedia(projectDetailContent, content.get().getProjectDetailContentMetadata());
+            } else {
+                deleteRemovedImages(content.get(), new ProjectDetailContent());
             }
             return ResponseEntity.noContent().build();
         } else {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Images moved out of the previous rich text that the saved content no longer shows
+    private void deleteRemovedImages(ProjectDetailContent previous, ProjectDetailContent saved) {
+        if (previous.getProjectDetailContentType() != ProjectDetailContent.ProjectDetailContentType.TEXT) {
+            return;
+        }
+        List<String> removed = MediaReferences.removed(previous, saved);
+        if (!removed.isEmpty()) {
+            mediaService.deleteFiles(inlineMediaExtractor.unshared(removed));
+        }
+    }
+
+    private List<ProjectDetailContent> view(List<ProjectDetailContent> contentList, String view) {
+        if (!"summary".equals(view)) {
+            return contentList;
+        }
+        // Lists may be shared with the read cache, copy instead of modifying them
+        return contentList.stream()
+                .map(content -> content.getProjectDetailContentType() == ProjectDetailContent.ProjectDetailContentType.TEXT
+                        ? content.toBuilder().projectDetailContent(null).build()
+                        : content)
+                .toList();
+    }
 }
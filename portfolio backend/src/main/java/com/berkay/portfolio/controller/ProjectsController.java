@@ -1,39 +1,83 @@
 package com.berkay.portfolio.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.berkay.portfolio.model.MediaMetadata;
+import com.berkay.portfolio.model.BatchRequest;
+import com.berkay.portfolio.model.DeletionJob;
 import com.berkay.portfolio.model.Projects;
+import com.berkay.portfolio.model.TechnologyFacet;
+import com.berkay.portfolio.service.BatchWriteService;
+import com.berkay.portfolio.service.PatchService;
 import com.berkay.portfolio.service.PortfolioService;
+import com.berkay.portfolio.service.ProjectDeletionService;
 import com.berkay.portfolio.service.MediaService;
+import com.berkay.portfolio.service.TechnologyFacetService;
+import com.berkay.portfolio.service.TechnologyTags;
+import com.berkay.portfolio.service.UploadedMedia;
 
 import jakarta.validation.Valid;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/projects")
 public class ProjectsController {
 
+    private static final Logger log = LoggerFactory.getLogger(ProjectsController.class);
+
     @Autowired
     private PortfolioService portfolioService;
 
+    @Autowired
+    private PatchService patchService;
+
+    @Autowired
+    private BatchWriteService batchWriteService;
+
     @Autowired
     private MediaService mediaService;
 
+    @Autowired
+    private ProjectDeletionService projectDeletionService;
+
+    @Autowired
+    private TechnologyFacetService technologyFacetService;
+
+    // ?tech=java&tech=spring (or tech=java,spring) returns the projects using all of them
     @GetMapping("/fetch")
-    public ResponseEntity<List<Projects>> getAllProjects() {
-        List<Projects> projects = portfolioService.getAllProjects();
+    public ResponseEntity<List<Projects>> getAllProjects(@RequestParam(value = "tech", required = false) List<String> tech) {
+        List<String> tags = tech == null ? List.of() : tech.stream()
+                .map(TechnologyTags::normalize)
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toList();
+        List<Projects> projects = tags.isEmpty()
+                ? portfolioService.getAllProjects()
+                : portfolioService.getProjectsByTechnologies(tags);
         return ResponseEntity.ok(projects);
     }
 
+    // Number of projects per technology tag
+    @GetMapping("/facets")
+    public ResponseEntity<List<TechnologyFacet>> getTechnologyFacets() {
+        return ResponseEntity.ok(technologyFacetService.getFacets());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Projects> getProjectById(@PathVariable String id) {
         Optional<Projects> project = portfolioService.getProjectById(id);
-        return project.map(ResponseEntity::ok)
+        return project.map(VersionedResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -58,9 +102,12 @@ public class ProjectsController {
         
         try {
             String projectContent = null;
+            MediaMetadata projectContentMetadata = null;
             if (mediaFile != null && !mediaFile.isEmpty()) {
                 // Upload media and get URL
-                projectContent = mediaService.uploadFile(mediaFile, "projects");
+                UploadedMedia uploaded = mediaService.uploadMedia(mediaFile, "projects");
+                projectContent = uploaded.getUrl();
+                projectContentMetadata = uploaded.getMetadata();
             }
 
             // Create project entity
@@ -72,6 +119,7 @@ public class ProjectsController {
                     .projectLink3(projectLink3)
                     .projectContentType(Projects.ProjectContentType.valueOf(projectContentType))
                     .projectContent(projectContent)
+                    .projectContentMetadata(projectContentMetadata)
                     .projectTechnologies(projectTechnologies)
                     .displayOrder(displayOrder)
                     .build();
@@ -83,22 +131,31 @@ public class ProjectsController {
         }
     }
 
+    // Replaces the whole document; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}")
-    public ResponseEntity<Projects> updateProject(@PathVariable String id, @Valid @RequestBody Projects project) {
+    public ResponseEntity<?> updateProject(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody Projects project) {
         Optional<Projects> existingProject = portfolioService.getProjectById(id);
         if (existingProject.isPresent()) {
             project.setId(id);
-            Projects updatedProject = portfolioService.saveProject(project);
-            return ResponseEntity.ok(updatedProject);
+            // Keep the stored metadata when the client sends the same media back without it
+            Projects currentProject = existingProject.get();
+            if (project.getProjectContentMetadata() == null
+                    && Objects.equals(project.getProjectContent(), currentProject.getProjectContent())) {
+                project.setProjectContentMetadata(currentProject.getProjectContentMetadata());
+            }
+            return VersionedResponses.replace(portfolioService, id, project, currentProject, ifMatch);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
-    // Update project with media upload
+    // Update project with media upload; If-Match, when sent, must carry the ETag it is based on
     @PutMapping("/{id}/with-media")
-    public ResponseEntity<Projects> updateProjectWithMedia(
+    public ResponseEntity<?> updateProjectWithMedia(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam("projectName") String projectName,
             @RequestParam("projectDescription") String projectDescription,
             @RequestParam("projectLink") String projectLink,
@@ -117,11 +174,16 @@ public class ProjectsController {
 
             String oldProjectContent = null;
             Projects currentProject = existingProject.get();
+            long basedOn = VersionedResponses.basedOn(ifMatch, currentProject);
             String projectContent = currentProject.getProjectContent();
+            MediaMetadata projectContentMetadata = currentProject.getProjectContentMetadata();
 
             // Upload new media if provided
+            UploadedMedia uploaded = null;
             if (mediaFile != null && !mediaFile.isEmpty()) {
-                projectContent = mediaService.uploadFile(mediaFile, "projects");
+                uploaded = mediaService.uploadMedia(mediaFile, "projects");
+                projectContent = uploaded.getUrl();
+                projectContentMetadata = uploaded.getMetadata();
                 oldProjectContent = currentProject.getProjectContent();
             }
 
@@ -135,34 +197,59 @@ public class ProjectsController {
                     .projectLink3(projectLink3)
                     .projectContentType(Projects.ProjectContentType.valueOf(projectContentType))
                     .projectContent(projectContent)
+                    .projectContentMetadata(projectContentMetadata)
                     .projectTechnologies(projectTechnologies)
                     .displayOrder(displayOrder)
                     .build();
 
-            Projects savedProject = portfolioService.saveProject(updatedProject);
-            if (oldProjectContent != null) {
-                mediaService.deleteFile(oldProjectContent);
-            }
-            return ResponseEntity.ok(savedProject);
+            String replacedContent = oldProjectContent;
+            UploadedMedia newMedia = uploaded;
+            return VersionedResponses.replace(portfolioService, id, updatedProject, basedOn,
+                    savedProject -> {
+                        if (replacedContent != null) {
+                            mediaService.deleteMedia(replacedContent, currentProject.getProjectContentMetadata());
+                        }
+                    },
+                    () -> {
+                        if (newMedia != null) {
+                            mediaService.deleteMedia(newMedia.getUrl(), newMedia.getMetadata());
+                        }
+                    });
         } catch (Exception e) {
-            System.out.println("Error in updateProjectWithMedia: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error in updateProjectWithMedia", e);
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Updates only the given fields; If-Match must carry the ETag the changes are based on
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchProject(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> changes) {
+        return VersionedResponses.patch(patchService, Projects.class, id, ifMatch, changes);
+    }
+
+    // Creates, updates, reorders and deletes many documents in one bulk write
+    @PostMapping("/batch")
+    public ResponseEntity<?> batchProjects(@Valid @RequestBody BatchRequest<Projects> request) {
+        return VersionedResponses.batch(batchWriteService, Projects.class, request);
+    }
+
+    // Deletes the project with its detail content: 204 when that was all, 202 with the job
+    // when their media is still being removed in the background
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProject(@PathVariable String id) {
+    public ResponseEntity<DeletionJob> deleteProject(@PathVariable String id) {
         Optional<Projects> project = portfolioService.getProjectById(id);
         if (project.isPresent()) {
-            String projectContent = project.get().getProjectContent();
-            if (projectContent != null) {
-                mediaService.deleteFile(projectContent);
+            DeletionJob job = projectDeletionService.deleteProject(project.get());
+            if (job.getStatus() == DeletionJob.Status.COMPLETED) {
+                return ResponseEntity.noContent().build();
             }
-            portfolioService.deleteProject(id);
-            return ResponseEntity.noContent().build();
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/admin/jobs/" + job.getId()))
+                    .body(job);
         } else {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+}
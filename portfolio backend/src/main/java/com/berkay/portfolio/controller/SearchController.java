@@ -0,0 +1,33 @@
+package com.berkay.portfolio.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.berkay.portfolio.model.SearchHit;
+import com.berkay.portfolio.search.SearchIndex;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @GetMapping
+    public ResponseEntity<List<SearchHit>> search(@RequestParam("q") String query,
+                                                  @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchIndex.search(query, Math.min(limit, MAX_LIMIT)));
+    }
+
+    // Typeahead completions for the word being typed
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggest(@RequestParam("q") String prefix,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchIndex.suggest(prefix, Math.min(limit, MAX_LIMIT)));
+    }
+}
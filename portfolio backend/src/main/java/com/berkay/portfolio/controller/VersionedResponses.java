@@ -0,0 +1,123 @@
+package com.berkay.portfolio.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.berkay.portfolio.model.BatchRequest;
+import com.berkay.portfolio.model.Versioned;
+import com.berkay.portfolio.service.BatchWriteService;
+import com.berkay.portfolio.service.PatchService;
+import com.berkay.portfolio.service.PortfolioService;
+import com.berkay.portfolio.service.VersionConflictException;
+import com.berkay.portfolio.service.Versions;
+
+/**
+ * Responses for {@link Versioned} documents: the version travels as the ETag and PATCH
+ * requests must name the version they were based on in If-Match. PUT requests may send it
+ * too, without it they are based on the version the server read. Batch writes are answered
+ * the same way for every collection.
+ */
+final class VersionedResponses {
+
+    private VersionedResponses() {
+    }
+
+    static <T extends Versioned> ResponseEntity<T> ok(T document) {
+        return ResponseEntity.ok().eTag(Versions.etag(document)).body(document);
+    }
+
+    static <T extends Versioned> ResponseEntity<?> patch(PatchService patchService, Class<T> type, String id,
+            String ifMatch, Map<String, Object> changes) {
+        if (ifMatch == null) {
+            return error(HttpStatus.PRECONDITION_REQUIRED, "If-Match header with the current ETag is required");
+        }
+        try {
+            Optional<T> updated = patchService.patch(type, id, Versions.parseIfMatch(ifMatch), changes);
+            if (updated.isPresent()) {
+                return ok(updated.get());
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (VersionConflictException e) {
+            return conflict(e);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Version a full update of the stored document is based on: the one in If-Match, or the
+     * stored one when the client sent none or "*".
+     * @throws IllegalArgumentException if the header is not a version ETag
+     */
+    static long basedOn(String ifMatch, Versioned stored) {
+        Long expected = ifMatch == null ? null : Versions.parseIfMatch(ifMatch);
+        return expected != null ? expected : Versions.current(stored);
+    }
+
+    static <T extends Versioned> ResponseEntity<?> replace(PortfolioService portfolioService, String id, T document,
+            T stored, String ifMatch) {
+        return replace(portfolioService, id, document, stored, ifMatch, saved -> { });
+    }
+
+    static <T extends Versioned> ResponseEntity<?> replace(PortfolioService portfolioService, String id, T document,
+            T stored, String ifMatch, Consumer<T> saved) {
+        long basedOn;
+        try {
+            basedOn = basedOn(ifMatch, stored);
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return replace(portfolioService, id, document, basedOn, saved, () -> { });
+    }
+
+    /**
+     * Replaces the stored document unless it changed since basedOn: then 412, or 404 when it is
+     * gone, and discard undoes what the request did before, such as uploading new media.
+     * @param saved runs once the replacement is stored
+     */
+    static <T extends Versioned> ResponseEntity<?> replace(PortfolioService portfolioService, String id, T document,
+            long basedOn, Consumer<T> saved, Runnable discard) {
+        Optional<T> replaced;
+        try {
+            replaced = portfolioService.replace(id, document, basedOn);
+        } catch (VersionConflictException e) {
+            discard.run();
+            return conflict(e);
+        }
+        if (replaced.isEmpty()) {
+            discard.run();
+            return ResponseEntity.notFound().build();
+        }
+        saved.accept(replaced.get());
+        return ok(replaced.get());
+    }
+
+    private static ResponseEntity<Map<String, String>> conflict(VersionConflictException e) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", e.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag("\"" + e.getCurrentVersion() + "\"")
+                .body(errorResponse);
+    }
+
+    static <T extends Versioned> ResponseEntity<?> batch(BatchWriteService batchWriteService, Class<T> type,
+            BatchRequest<T> request) {
+        try {
+            return ResponseEntity.ok(batchWriteService.apply(type, request));
+        } catch (IllegalArgumentException e) {
+            return error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put("error", message);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
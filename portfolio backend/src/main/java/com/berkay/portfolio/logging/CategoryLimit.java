@@ -0,0 +1,59 @@
+package com.berkay.portfolio.logging;
+
+/**
+ * Sampling and rate limit for one logger category, configured in logback-spring.xml.
+ */
+public class CategoryLimit {
+
+    private String logger;
+    // Fraction of TRACE/DEBUG/INFO events that are kept; WARN and ERROR are never sampled
+    private double sampleRate = 1.0;
+    // Events per second across all levels, 0 for unlimited
+    private int maxPerSecond;
+
+    private final Object lock = new Object();
+    private long windowStart;
+    private int windowCount;
+
+    public String getLogger() {
+        return logger;
+    }
+
+    public void setLogger(String logger) {
+        this.logger = logger;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getMaxPerSecond() {
+        return maxPerSecond;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    boolean matches(String loggerName) {
+        return loggerName.startsWith(logger)
+                && (loggerName.length() == logger.length() || loggerName.charAt(logger.length()) == '.');
+    }
+
+    boolean tryAcquire(long nowMillis) {
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+        synchronized (lock) {
+            if (nowMillis - windowStart >= 1000) {
+                windowStart = nowMillis;
+                windowCount = 0;
+            }
+            return ++windowCount <= maxPerSecond;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.berkay.portfolio.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Applies per-category sampling and rate limits before a log event is even created, so chatty
+ * categories on the request path cost almost nothing once they are over their budget.
+ * The most specific configured category wins.
+ */
+public class CategorySamplingFilter extends TurboFilter {
+
+    private final List<CategoryLimit> categories = new ArrayList<>();
+
+    public void addCategory(CategoryLimit category) {
+        categories.add(category);
+        // Longest prefix first, so a child category overrides its parent
+        categories.sort((a, b) -> Integer.compare(b.getLogger().length(), a.getLogger().length()));
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || !logger.isEnabledFor(level)) {
+            // Disabled levels are rejected by the logger itself, do not spend the budget on them
+            return FilterReply.NEUTRAL;
+        }
+        CategoryLimit category = find(logger.getName());
+        if (category == null) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(Level.WARN) && category.getSampleRate() < 1.0
+                && ThreadLocalRandom.current().nextDouble() >= category.getSampleRate()) {
+            DroppedLogEvents.SAMPLED.increment();
+            return FilterReply.DENY;
+        }
+        if (!category.tryAcquire(System.currentTimeMillis())) {
+            DroppedLogEvents.RATE_LIMITED.increment();
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    private CategoryLimit find(String loggerName) {
+        for (CategoryLimit category : categories) {
+            if (category.matches(loggerName)) {
+                return category;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.berkay.portfolio.logging;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * Logback async appender that never blocks the logging thread and counts what it drops.
+ * Events go through a bounded in-memory queue drained by a single worker; when the queue is
+ * nearly full, TRACE/DEBUG/INFO are discarded, and when it is full everything is.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    static final List<DropCountingAsyncAppender> INSTANCES = new CopyOnWriteArrayList<>();
+
+    public DropCountingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            INSTANCES.add(this);
+        }
+    }
+
+    @Override
+    public void stop() {
+        INSTANCES.remove(this);
+        super.stop();
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        // Only consulted once the queue is past the discarding threshold
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DroppedLogEvents.QUEUE_FULL.increment();
+        }
+        return discardable;
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted() && getRemainingCapacity() == 0) {
+            // The base class would silently drop it on the non-blocking offer
+            DroppedLogEvents.QUEUE_FULL.increment();
+            return;
+        }
+        super.append(event);
+    }
+}
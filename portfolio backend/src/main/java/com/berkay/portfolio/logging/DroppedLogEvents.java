@@ -0,0 +1,17 @@
+package com.berkay.portfolio.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for log events that were deliberately not written. They are incremented from Logback
+ * components, which are created before the Spring context, and published by {@link LoggingMetrics}.
+ */
+public final class DroppedLogEvents {
+
+    static final LongAdder QUEUE_FULL = new LongAdder();
+    static final LongAdder SAMPLED = new LongAdder();
+    static final LongAdder RATE_LIMITED = new LongAdder();
+
+    private DroppedLogEvents() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.berkay.portfolio.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the dropped-event counters and the async queue depth of the logging pipeline.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registerDropped(registry, "queue-full", DroppedLogEvents.QUEUE_FULL);
+        registerDropped(registry, "sampled", DroppedLogEvents.SAMPLED);
+        registerDropped(registry, "rate-limited", DroppedLogEvents.RATE_LIMITED);
+        Gauge.builder("logging.queue.depth", LoggingMetrics::queueDepth)
+                .description("Log events waiting for the async appender worker")
+                .register(registry);
+    }
+
+    private void registerDropped(MeterRegistry registry, String reason, LongAdder counter) {
+        FunctionCounter.builder("logging.events.dropped", counter, LongAdder::sum)
+                .tag("reason", reason)
+                .description("Log events discarded instead of blocking the caller")
+                .register(registry);
+    }
+
+    private static double queueDepth() {
+        long depth = 0;
+        for (DropCountingAsyncAppender appender : DropCountingAsyncAppender.INSTANCES) {
+            depth += appender.getNumberOfElementsInQueue();
+        }
+        return depth;
+    }
+}
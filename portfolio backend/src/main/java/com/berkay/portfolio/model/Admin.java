@@ -26,4 +26,7 @@ public class Admin {
     @NotBlank(message = "Password is required")
     @Size(min = 6, message = "Password must be at least 6 characters")
     private String password;
+
+    // Embedded in issued tokens; rotated on password or username change to revoke older tokens
+    private String credentialVersion;
 }
@@ -0,0 +1,22 @@
+package com.berkay.portfolio.model;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ArchiveImportResult {
+    // Collection name -> documents written
+    private Map<String, Integer> documents;
+    private int mediaUploaded;
+    private List<String> mediaFailed;
+    // Archive entries that are neither a known collection nor media
+    private List<String> skippedEntries;
+}
@@ -0,0 +1,33 @@
+package com.berkay.portfolio.model;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a background rewrite of existing documents, processed in batches.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class BackfillJob {
+    private String id;
+    // What the job rewrites, e.g. rich-text
+    private String type;
+    private Status status;
+    private int documentsScanned;
+    private int documentsUpdated;
+    // Changed by another request meanwhile, those writes already went through the pipeline
+    private int documentsSkipped;
+    private int documentsFailed;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, COMPLETED_WITH_ERRORS, FAILED
+    }
+}
@@ -0,0 +1,52 @@
+package com.berkay.portfolio.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Creates, full updates, display order changes and deletes applied to one collection as a
+ * single bulk write. Every id may appear in only one of update, reorder and delete. An updated
+ * document carrying a version is only written while the stored one still has that version.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchRequest<T> {
+    @Builder.Default
+    private List<@Valid @NotNull T> create = new ArrayList<>();
+    @Builder.Default
+    private List<@Valid @NotNull T> update = new ArrayList<>();
+    @Builder.Default
+    private List<@Valid @NotNull Reorder> reorder = new ArrayList<>();
+    @Builder.Default
+    private List<@NotBlank String> delete = new ArrayList<>();
+
+    public int operationCount() {
+        return size(create) + size(update) + size(reorder) + size(delete);
+    }
+
+    private static int size(List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Reorder {
+        @NotBlank(message = "Id is required")
+        private String id;
+        @NotNull(message = "Display order is required")
+        @Min(value = 1, message = "Display order must be greater than 0")
+        private Integer displayOrder;
+    }
+}
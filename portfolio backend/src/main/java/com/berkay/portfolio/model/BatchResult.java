@@ -0,0 +1,27 @@
+package com.berkay.portfolio.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a {@link BatchRequest}. Created documents are returned with their assigned ids;
+ * updates, reorders and deletes naming unknown ids are skipped and listed in notFound. Updates
+ * based on a version the document no longer has are skipped and listed in conflicts.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResult<T> {
+    private List<T> created;
+    private int inserted;
+    private int matched;
+    private int modified;
+    private int deleted;
+    private List<String> notFound;
+    private List<String> conflicts;
+}
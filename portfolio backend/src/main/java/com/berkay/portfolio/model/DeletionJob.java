@@ -0,0 +1,33 @@
+package com.berkay.portfolio.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a cascading deletion. The documents are already gone when the job is created;
+ * the job tracks the media cleanup that follows in the background.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class DeletionJob {
+    private String id;
+    private String projectId;
+    private Status status;
+    private long detailContentDeleted;
+    private int mediaTotal;
+    private int mediaDeleted;
+    private List<String> mediaFailed;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, COMPLETED_WITH_ERRORS
+    }
+}
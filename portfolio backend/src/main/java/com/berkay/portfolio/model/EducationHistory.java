@@ -19,7 +19,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class EducationHistory {
+public class EducationHistory implements Versioned {
     @Id
     private String id;
     @NotBlank(message = "School name is required")
@@ -46,4 +46,7 @@ public class EducationHistory {
     @NotNull(message = "Display order is required")
     @Min(value = 1, message = "Display order must be greater than 0")
     private Integer displayOrder;
+
+    // Incremented on every update, exposed as the ETag
+    private Long version;
 }
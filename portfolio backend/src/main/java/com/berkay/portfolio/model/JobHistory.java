@@ -18,7 +18,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class JobHistory {
+public class JobHistory implements Versioned {
     @Id
     private String id;
     @NotBlank(message = "Company name is required")
@@ -40,4 +40,8 @@ public class JobHistory {
     private Integer displayOrder;
 
     private String companyLogo;
+    private MediaMetadata companyLogoMetadata;
+
+    // Incremented on every update, exposed as the ETag
+    private Long version;
 }
@@ -0,0 +1,27 @@
+package com.berkay.portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Metadata captured once at upload time and embedded next to the media reference
+ * on the owning document, so clients can lay out media before the bytes arrive.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MediaMetadata {
+    private String contentType;
+    private Long size;
+    private Integer width;
+    private Integer height;
+    // Compact BlurHash string used as a low-quality placeholder for images and video posters
+    private String blurHash;
+
+    // Video only, filled in by the background poster worker after upload
+    private Double durationSeconds;
+    private String posterKey;
+}
@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class PersonalInfo {
+public class PersonalInfo implements Versioned {
     @Id
     private String id;
     @NotBlank(message = "Name is required")
@@ -38,8 +38,11 @@ public class PersonalInfo {
     @NotBlank(message = "Country is required")
     private String country;
     private String profilePicture;
+    private MediaMetadata profilePictureMetadata;
     private String resume;
 
     private String workTitle;
-    
+
+    // Incremented on every update, exposed as the ETag
+    private Long version;
 }
@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class ProfessionalSkills {
+public class ProfessionalSkills implements Versioned {
     @Id
     private String id;
     @NotBlank(message = "Skill name is required")
@@ -28,6 +28,9 @@ public class ProfessionalSkills {
     private Integer displayOrder;
 
 
+    // Incremented on every update, exposed as the ETag
+    private Long version;
+
     public enum SkillLevel {
         BEGINNER("Beginner"), INTERMEDIATE("Intermediate"), ADVANCED("Advanced");
         private String name;
@@ -16,8 +16,8 @@ import org.springframework.data.mongodb.core.mapping.Field;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
-public class ProjectDetailContent {
+@Builder(toBuilder = true)
+public class ProjectDetailContent implements Versioned {
     @Id
     private String id;
     @NotNull(message = "Project is required")
@@ -27,10 +27,16 @@ public class ProjectDetailContent {
     private ProjectDetailContentType projectDetailContentType;
     @NotBlank(message = "Project detail content is required")
     private String projectDetailContent;
+    private MediaMetadata projectDetailContentMetadata;
+    // Derived from TEXT content on every write: excerpt, word count and reading time
+    private RichTextSummary projectDetailContentSummary;
     @NotNull(message = "Display order is required")
     @Min(value = 1, message = "Display order must be greater than 0")
     private Integer displayOrder;
 
+    // Incremented on every update, exposed as the ETag
+    private Long version;
+
     public enum ProjectDetailContentType {
         TEXT("Text"), IMAGE("Image"), VIDEO("Video");
         private String name;
@@ -1,5 +1,7 @@
 package com.berkay.portfolio.model;
 
+import java.util.List;
+
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -16,7 +18,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
-public class Projects {
+public class Projects implements Versioned {
     @Id
     private String id;
     @NotBlank(message = "Project name is required")
@@ -33,12 +35,18 @@ public class Projects {
     private ProjectContentType projectContentType;
     @NotBlank(message = "Project content is required")
     private String projectContent;
+    private MediaMetadata projectContentMetadata;
     @NotBlank(message = "Project technologies is required")
     private String projectTechnologies;
+    // Normalised from projectTechnologies on every save, used for filtering and facets
+    private List<String> technologyTags;
     @NotNull(message = "Display order is required")
     @Min(value = 1, message = "Display order must be greater than 0")
     private Integer displayOrder;
 
+    // Incremented on every update, exposed as the ETag
+    private Long version;
+
     public enum ProjectContentType {
         IMAGE("Image"), VIDEO("Video");
         private String name;
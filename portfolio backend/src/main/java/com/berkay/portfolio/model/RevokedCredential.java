@@ -0,0 +1,26 @@
+package com.berkay.portfolio.model;
+
+import java.util.Date;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Document("revoked_credentials")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RevokedCredential {
+    // The revoked credential version
+    @Id
+    private String id;
+    private String username;
+    private Date revokedAt;
+    // Tokens carrying this version are expired by then, so the entry can be dropped (TTL index)
+    private Date expiresAt;
+}
@@ -0,0 +1,26 @@
+package com.berkay.portfolio.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RichTextSummary {
+    // Plain-text start of the content, for list pages
+    private String excerpt;
+    private Integer wordCount;
+    private Integer readingTimeMinutes;
+
+    // Editor HTML as submitted, only kept when sanitizing changed it, so content can be reprocessed
+    @JsonIgnore
+    private byte[] original;
+    // Whether original is gzip-compressed
+    @JsonIgnore
+    private Boolean originalCompressed;
+}
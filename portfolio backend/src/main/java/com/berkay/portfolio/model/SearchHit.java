@@ -0,0 +1,21 @@
+package com.berkay.portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SearchHit {
+    // project, project-detail, job, education or skill
+    private String type;
+    private String id;
+    // Owning project of a project-detail hit
+    private String projectId;
+    private String title;
+    private String snippet;
+    private double score;
+}
@@ -0,0 +1,16 @@
+package com.berkay.portfolio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TechnologyFacet {
+    private String tag;
+    // Number of projects carrying the tag
+    private int count;
+}
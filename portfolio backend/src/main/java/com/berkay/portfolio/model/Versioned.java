@@ -0,0 +1,13 @@
+package com.berkay.portfolio.model;
+
+/**
+ * Documents carrying a version that every update increments. Clients echo it back in
+ * If-Match so concurrent edits are detected instead of overwriting each other.
+ * Documents written before versioning have no version, which counts as 0.
+ */
+public interface Versioned {
+
+    Long getVersion();
+
+    void setVersion(Long version);
+}
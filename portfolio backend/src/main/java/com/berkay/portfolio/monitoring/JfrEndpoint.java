@@ -0,0 +1,142 @@
+package com.berkay.portfolio.monitoring;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Actuator endpoint driving a single, bounded JFR recording.
+ * POST starts it, DELETE stops it, GET reports its state and GET /recording downloads the data
+ * (a snapshot while it is still running). Recordings are capped in size and duration, so a
+ * forgotten one cannot fill the disk.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final List<String> PORTFOLIO_EVENTS = List.of(
+            "com.berkay.portfolio.PortfolioOperation",
+            "com.berkay.portfolio.MediaOperation",
+            "com.berkay.portfolio.JwtVerification");
+
+    @Value("${monitoring.jfr.max-duration-seconds:900}")
+    private long maxDurationSeconds;
+
+    @Value("${monitoring.jfr.max-size-mb:100}")
+    private long maxSizeMb;
+
+    private Recording recording;
+    private Path dumpFile;
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings, @Nullable Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("A recording is already running", "Recording already running");
+        }
+        closeRecording();
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings == null ? "profile" : settings);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + settings, "Unknown settings");
+        }
+        long seconds = durationSeconds == null ? maxDurationSeconds : Math.min(durationSeconds, maxDurationSeconds);
+
+        Recording newRecording = new Recording(configuration);
+        newRecording.setName("portfolio-" + Instant.now().getEpochSecond());
+        newRecording.setToDisk(true);
+        newRecording.setDuration(Duration.ofSeconds(seconds));
+        newRecording.setMaxSize(maxSizeMb * 1024 * 1024);
+        for (String event : PORTFOLIO_EVENTS) {
+            newRecording.enable(event).withoutThreshold();
+        }
+        newRecording.start();
+        recording = newRecording;
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() throws IOException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            dump();
+        }
+        return status();
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("maxDuration", recording.getDuration());
+        status.put("maxSizeBytes", recording.getMaxSize());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    @ReadOperation
+    public synchronized Resource recording(@Selector String name) throws IOException {
+        if (recording == null || !"recording".equals(name)) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.STOPPED) {
+            // Stopped by its duration limit, or still running: write what has been recorded so far
+            dump();
+        }
+        return dumpFile == null ? null : new FileSystemResource(dumpFile);
+    }
+
+    private void dump() throws IOException {
+        if (dumpFile == null) {
+            dumpFile = Files.createTempFile("portfolio-", ".jfr");
+        }
+        recording.dump(dumpFile);
+    }
+
+    @PreDestroy
+    synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (dumpFile != null) {
+            try {
+                Files.deleteIfExists(dumpFile);
+            } catch (IOException e) {
+                // Temp file, the OS cleans it up eventually
+            }
+            dumpFile = null;
+        }
+    }
+}
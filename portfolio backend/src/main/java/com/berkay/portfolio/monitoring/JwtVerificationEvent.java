@@ -0,0 +1,23 @@
+package com.berkay.portfolio.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for the token verification done by the JWT filter on each authenticated request.
+ */
+@Name("com.berkay.portfolio.JwtVerification")
+@Label("JWT Verification")
+@Category({ "Portfolio", "Security" })
+@Description("Signature, expiry and revocation check of a bearer token")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Outcome")
+    @Description("valid, invalid, revoked or error")
+    public String outcome;
+}
@@ -0,0 +1,34 @@
+package com.berkay.portfolio.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a MediaService upload, presign or delete.
+ */
+@Name("com.berkay.portfolio.MediaOperation")
+@Label("Media Operation")
+@Category({ "Portfolio", "Media" })
+@Description("S3 call made through MediaService")
+@StackTrace(false)
+public class MediaOperationEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Key")
+    @Description("S3 object key")
+    public String key;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Failed")
+    public boolean failed;
+}
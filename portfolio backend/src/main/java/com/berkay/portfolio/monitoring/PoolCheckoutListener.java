@@ -0,0 +1,42 @@
+package com.berkay.portfolio.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times how long operations wait for a pooled Mongo connection. Boot's pool metrics show how
+ * many connections are in use; this shows whether requests queue for one, i.e. whether the
+ * pool is too small for the load.
+ */
+public class PoolCheckoutListener implements ConnectionPoolListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public PoolCheckoutListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        record("success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        record(event.getReason().name().toLowerCase(), event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    private void record(String outcome, long nanos) {
+        Timer.builder("mongodb.pool.checkout")
+                .tag("outcome", outcome)
+                .description("Time spent waiting for a Mongo connection from the pool")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
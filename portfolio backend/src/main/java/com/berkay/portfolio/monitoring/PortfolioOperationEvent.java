@@ -0,0 +1,32 @@
+package com.berkay.portfolio.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a PortfolioService read or write. Costs next to nothing while no recording runs.
+ */
+@Name("com.berkay.portfolio.PortfolioOperation")
+@Label("Portfolio Operation")
+@Category({ "Portfolio", "Data" })
+@Description("Repository call made through PortfolioService")
+@StackTrace(false)
+public class PortfolioOperationEvent extends Event {
+
+    @Label("Collection")
+    public String collection;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Documents")
+    @Description("Documents returned or written")
+    public int documents;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,105 @@
+package com.berkay.portfolio.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-scoped accumulator of time spent per phase. It is bound to the request thread by
+ * {@link ServerTimingFilter}; recording is a couple of array writes and a no-op outside requests.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        AUTH("auth"),
+        DB("db"),
+        S3("s3"),
+        JSON("json");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    static final String REQUEST_ATTRIBUTE = RequestTiming.class.getName();
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private boolean headerWritten;
+
+    static void bind(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds time to a phase of the request running on this thread, if any.
+     */
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.nanos[phase.ordinal()] += elapsedNanos;
+            timing.counts[phase.ordinal()]++;
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    boolean isHeaderWritten() {
+        return headerWritten;
+    }
+
+    /**
+     * Builds the Server-Timing header value and marks it as written.
+     */
+    String toHeader() {
+        headerWritten = true;
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : PHASES) {
+            int count = counts[phase.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.getMetricName()).append(";dur=").append(millis(nanos[phase.ordinal()]));
+            if (count > 1) {
+                header.append(";desc=\"").append(count).append(" calls\"");
+            }
+            header.append(", ");
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    Map<String, Double> phaseMillis() {
+        Map<String, Double> phases = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            if (counts[phase.ordinal()] > 0) {
+                phases.put(phase.getMetricName(), nanos[phase.ordinal()] / 1_000_000.0);
+            }
+        }
+        return phases;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,24 @@
+package com.berkay.portfolio.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Adds every Mongo command to the db phase of the current request. The synchronous driver
+ * reports commands on the calling thread, so repository calls land on the request that made them.
+ */
+public class RequestTimingCommandListener implements CommandListener {
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        RequestTiming.record(RequestTiming.Phase.DB, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        RequestTiming.record(RequestTiming.Phase.DB, event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,92 @@
+package com.berkay.portfolio.monitoring;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * Bridges the AWS SDK metrics of the S3 client into Micrometer: a timer per S3 operation and
+ * gauges for the Apache HTTP connection pool, as last reported by a completed request.
+ */
+@Component
+public class S3MetricsPublisher implements MetricPublisher {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger leasedConnections = new AtomicInteger();
+    private final AtomicInteger availableConnections = new AtomicInteger();
+    private final AtomicInteger pendingConnections = new AtomicInteger();
+    private final AtomicInteger maxConnections = new AtomicInteger();
+
+    @PostConstruct
+    void registerMetrics() {
+        registerPoolGauge("leased", leasedConnections);
+        registerPoolGauge("available", availableConnections);
+        registerPoolGauge("pending", pendingConnections);
+        registerPoolGauge("max", maxConnections);
+    }
+
+    private void registerPoolGauge(String state, AtomicInteger value) {
+        Gauge.builder("s3.http.pool.connections", value, AtomicInteger::get)
+                .tag("state", state)
+                .description("Apache HTTP client connection pool of the S3 client")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(MetricCollection metrics) {
+        String operation = first(metrics, CoreMetric.OPERATION_NAME, "unknown");
+        Boolean successful = first(metrics, CoreMetric.API_CALL_SUCCESSFUL, null);
+        Duration duration = first(metrics, CoreMetric.API_CALL_DURATION, null);
+        if (duration != null) {
+            Timer.builder("s3.api.calls")
+                    .tag("operation", operation)
+                    .tag("outcome", Boolean.TRUE.equals(successful) ? "success" : "error")
+                    .description("Latency of S3 API calls, including retries")
+                    .register(meterRegistry)
+                    .record(duration);
+        }
+        updatePoolGauges(metrics);
+    }
+
+    private void updatePoolGauges(MetricCollection metrics) {
+        // Pool statistics are reported in the HTTP client collection nested under each attempt
+        update(metrics, HttpMetric.LEASED_CONCURRENCY, leasedConnections);
+        update(metrics, HttpMetric.AVAILABLE_CONCURRENCY, availableConnections);
+        update(metrics, HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pendingConnections);
+        update(metrics, HttpMetric.MAX_CONCURRENCY, maxConnections);
+        for (MetricCollection child : metrics.children()) {
+            updatePoolGauges(child);
+        }
+    }
+
+    private void update(MetricCollection metrics, SdkMetric<Integer> metric, AtomicInteger target) {
+        List<Integer> values = metrics.metricValues(metric);
+        if (!values.isEmpty()) {
+            target.set(values.get(values.size() - 1));
+        }
+    }
+
+    private <T> T first(MetricCollection metrics, SdkMetric<T> metric, T defaultValue) {
+        List<T> values = metrics.metricValues(metric);
+        return values.isEmpty() ? defaultValue : values.get(0);
+    }
+
+    @Override
+    public void close() {
+    }
+}
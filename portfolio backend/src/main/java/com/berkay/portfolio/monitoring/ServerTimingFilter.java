@@ -0,0 +1,59 @@
+package com.berkay.portfolio.monitoring;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Binds a {@link RequestTiming} to each request, emits the Server-Timing header when the
+ * response body did not already carry it, and offers the finished request to the slow request log.
+ * Runs ahead of the security filter chain so authentication is part of the measurement.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Async results (login, password change) are written on the async dispatch
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = (RequestTiming) request.getAttribute(RequestTiming.REQUEST_ATTRIBUTE);
+        if (timing == null) {
+            timing = new RequestTiming();
+            request.setAttribute(RequestTiming.REQUEST_ATTRIBUTE, timing);
+        }
+        RequestTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTiming.unbind();
+        }
+
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        if (!timing.isHeaderWritten() && !response.isCommitted()) {
+            response.addHeader(HEADER, timing.toHeader());
+        }
+        slowRequestLog.offer(request.getMethod(), request.getRequestURI(), response.getStatus(), timing);
+    }
+}
@@ -0,0 +1,151 @@
+package com.berkay.portfolio.monitoring;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonArray;
+import org.bson.BsonBoolean;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonValue;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Hands Mongo commands slower than the configured threshold to the {@link SlowCommandLog}.
+ * The driver only guarantees command and reply documents during the callback, so what the shape
+ * and explain need of a command is copied when it starts, and the returned document count is
+ * read when it finishes. Documents that updates carry are never copied: most commands are fast.
+ */
+public class SlowCommandListener implements CommandListener {
+
+    private static final Set<String> TRACKED_COMMANDS =
+            Set.of("find", "aggregate", "count", "distinct", "findAndModify", "update", "delete");
+
+    // Fields of the tracked commands that select, order or shape what they work on
+    private static final List<String> QUERY_FIELDS =
+            List.of("filter", "query", "sort", "projection", "fields", "pipeline", "key", "hint", "collation");
+
+    private final SlowCommandLog slowCommandLog;
+    private final Map<Integer, BsonDocument> pending = new ConcurrentHashMap<>();
+
+    public SlowCommandListener(SlowCommandLog slowCommandLog) {
+        this.slowCommandLog = slowCommandLog;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (TRACKED_COMMANDS.contains(event.getCommandName())) {
+            pending.put(event.getRequestId(), queryOf(event.getCommandName(), event.getCommand()));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        BsonDocument command = pending.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        long elapsedNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (slowCommandLog.isSlow(elapsedNanos)) {
+            slowCommandLog.record(event.getDatabaseName(), event.getCommandName(), command, elapsedNanos,
+                    documentsReturned(event.getCommandName(), event.getResponse()), null);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        BsonDocument command = pending.remove(event.getRequestId());
+        if (command == null) {
+            return;
+        }
+        long elapsedNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        if (slowCommandLog.isSlow(elapsedNanos)) {
+            slowCommandLog.record(event.getDatabaseName(), event.getCommandName(), command, elapsedNanos,
+                    0, event.getThrowable().getMessage());
+        }
+    }
+
+    /**
+     * Copy of the command without its documents, still a command explain accepts.
+     */
+    private static BsonDocument queryOf(String commandName, BsonDocument command) {
+        BsonDocument query = new BsonDocument(commandName, copy(command.get(commandName)));
+        for (String field : QUERY_FIELDS) {
+            BsonValue value = command.get(field);
+            if (value != null) {
+                query.put(field, copy(value));
+            }
+        }
+        switch (commandName) {
+            case "findAndModify":
+                // Explain plans the query the same way whatever the modification is
+                if (command.getBoolean("remove", BsonBoolean.FALSE).getValue()) {
+                    query.put("remove", BsonBoolean.TRUE);
+                } else {
+                    query.put("update", new BsonDocument());
+                }
+                break;
+            case "update":
+            case "delete": {
+                // Only the first statement's query is part of the shape
+                String statements = "update".equals(commandName) ? "updates" : "deletes";
+                BsonArray array = command.isArray(statements) ? command.getArray(statements) : new BsonArray();
+                if (!array.isEmpty() && array.get(0).isDocument()) {
+                    BsonDocument first = array.get(0).asDocument();
+                    BsonDocument statement = new BsonDocument("q", copy(first.get("q", new BsonDocument())));
+                    if ("update".equals(commandName)) {
+                        statement.put("u", new BsonDocument());
+                    } else {
+                        statement.put("limit", first.get("limit", new BsonInt32(0)));
+                    }
+                    query.put(statements, new BsonArray(List.of(statement)));
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        return query;
+    }
+
+    private static BsonValue copy(BsonValue value) {
+        if (value == null) {
+            return new BsonDocument();
+        }
+        if (value.isDocument()) {
+            return value.asDocument().clone();
+        }
+        return value.isArray() ? value.asArray().clone() : value;
+    }
+
+    private long documentsReturned(String commandName, BsonDocument response) {
+        if (response == null) {
+            return 0;
+        }
+        switch (commandName) {
+            case "find":
+            case "aggregate": {
+                BsonValue cursor = response.get("cursor");
+                if (cursor != null && cursor.isDocument() && cursor.asDocument().isArray("firstBatch")) {
+                    return cursor.asDocument().getArray("firstBatch").size();
+                }
+                return 0;
+            }
+            case "distinct":
+                return response.isArray("values") ? response.getArray("values").size() : 0;
+            case "findAndModify":
+                return response.containsKey("value") && !response.get("value").isNull() ? 1 : 0;
+            default:
+                // count, update and delete report the affected count as n
+                BsonValue n = response.get("n");
+                return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.berkay.portfolio.monitoring;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Slow Mongo commands with their normalized query shape. Recent commands are kept in a fixed-size
+ * ring written with a single atomic increment, and totals are aggregated per shape. The first time a
+ * shape is seen (and again after a while) its plan is fetched with explain on a background thread.
+ */
+@Component
+public class SlowCommandLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowCommandLog.class);
+
+    // Keys the driver adds to every command, which explain does not accept inside the explained command
+    private static final List<String> SESSION_KEYS = List.of("lsid", "txnNumber", "autocommit", "startTransaction");
+    private static final long PLAN_REFRESH_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    @Value("${monitoring.slow-commands.threshold-ms:100}")
+    private long thresholdMillis;
+
+    @Value("${monitoring.slow-commands.capacity:256}")
+    private int capacity;
+
+    @Value("${monitoring.slow-commands.max-shapes:500}")
+    private int maxShapes;
+
+    @Value("${monitoring.slow-commands.explain:true}")
+    private boolean explain;
+
+    // Resolved lazily: the Mongo client this log listens to is created after it
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    private long thresholdNanos;
+    private AtomicReferenceArray<SlowCommand> ring;
+    private final AtomicLong cursor = new AtomicLong();
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor explainExecutor;
+
+    @PostConstruct
+    void start() {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        ring = new AtomicReferenceArray<>(capacity);
+        // One low-priority thread and a short queue: plans are nice to have, never worth a backlog
+        explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-command-explain");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        explainExecutor.shutdownNow();
+    }
+
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    void record(String database, String commandName, BsonDocument command, long elapsedNanos,
+            long documentsReturned, String error) {
+        String collection = collection(commandName, command);
+        String shape = collection + "." + commandName + " " + shape(commandName, command);
+        double millis = elapsedNanos / 1_000_000.0;
+
+        SlowCommand entry = new SlowCommand(Instant.now(), collection, commandName, shape, millis, documentsReturned, error);
+        ring.set((int) (cursor.getAndIncrement() % capacity), entry);
+
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape, ignored -> new ShapeStats());
+        }
+        stats.count.increment();
+        stats.totalMicros.add(elapsedNanos / 1000);
+        stats.maxMicros.accumulate(elapsedNanos / 1000);
+        stats.documentsReturned.add(documentsReturned);
+
+        if (explain && error == null && stats.shouldExplain(System.currentTimeMillis())) {
+            final ShapeStats captured = stats;
+            explainExecutor.execute(() -> explain(database, commandName, command, captured));
+        }
+    }
+
+    public List<SlowCommand> recent() {
+        List<SlowCommand> commands = new ArrayList<>();
+        for (int i = 0; i < ring.length(); i++) {
+            SlowCommand command = ring.get(i);
+            if (command != null) {
+                commands.add(command.withPlan(planOf(command.getShape())));
+            }
+        }
+        commands.sort(Comparator.comparing(SlowCommand::getTimestamp).reversed());
+        return commands;
+    }
+
+    public List<ShapeSummary> summaries() {
+        List<ShapeSummary> summaries = new ArrayList<>();
+        shapes.forEach((shape, stats) -> {
+            long count = stats.count.sum();
+            double totalMillis = stats.totalMicros.sum() / 1000.0;
+            summaries.add(new ShapeSummary(shape, count, totalMillis, count == 0 ? 0 : totalMillis / count,
+                    stats.maxMicros.get() / 1000.0, stats.documentsReturned.sum(), stats.plan));
+        });
+        summaries.sort(Comparator.comparingDouble(ShapeSummary::getTotalMillis).reversed());
+        return summaries;
+    }
+
+    public void clear() {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+        shapes.clear();
+    }
+
+    private String planOf(String shape) {
+        ShapeStats stats = shapes.get(shape);
+        return stats == null ? null : stats.plan;
+    }
+
+    private void explain(String database, String commandName, BsonDocument command, ShapeStats stats) {
+        try {
+            BsonDocument explained = command.clone();
+            explained.keySet().removeIf(key -> key.startsWith("$") || SESSION_KEYS.contains(key));
+            Document explainCommand = new Document("explain", explained).append("verbosity", "queryPlanner");
+            Document result = mongoTemplate.getObject().getMongoDatabaseFactory().getMongoDatabase(database)
+                    .runCommand(explainCommand);
+            Object queryPlanner = result.get("queryPlanner");
+            if (queryPlanner instanceof Document) {
+                stats.plan = describePlan(((Document) queryPlanner).get("winningPlan"));
+            }
+        } catch (Exception e) {
+            log.debug("Failed to explain slow {} command: {}", commandName, e.getMessage());
+        }
+    }
+
+    /**
+     * Flattens a winning plan into "FETCH > IXSCAN(projectId_1)" or "COLLSCAN".
+     */
+    private String describePlan(Object plan) {
+        if (!(plan instanceof Document)) {
+            return null;
+        }
+        Document stage = (Document) plan;
+        // Plans run by the slot-based engine wrap the classic tree in queryPlan
+        if (stage.get("queryPlan") instanceof Document) {
+            stage = (Document) stage.get("queryPlan");
+        }
+        StringBuilder summary = new StringBuilder(String.valueOf(stage.get("stage")));
+        if (stage.get("indexName") != null) {
+            summary.append('(').append(stage.get("indexName")).append(')');
+        }
+        Object input = stage.get("inputStage");
+        if (input == null && stage.get("inputStages") instanceof List<?> inputs && !inputs.isEmpty()) {
+            input = inputs.get(0);
+        }
+        String child = describePlan(input);
+        return child == null ? summary.toString() : summary + " > " + child;
+    }
+
+    private String collection(String commandName, BsonDocument command) {
+        BsonValue value = command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : "?";
+    }
+
+    private String shape(String commandName, BsonDocument command) {
+        StringBuilder shape = new StringBuilder();
+        switch (commandName) {
+            case "aggregate":
+                shape.append(command.isArray("pipeline") ? normalize(command.getArray("pipeline")) : "[]");
+                break;
+            case "update":
+            case "delete": {
+                String statements = "update".equals(commandName) ? "updates" : "deletes";
+                BsonArray array = command.isArray(statements) ? command.getArray(statements) : new BsonArray();
+                BsonValue first = array.isEmpty() ? new BsonDocument() : array.get(0);
+                shape.append(first.isDocument() ? normalize(first.asDocument().get("q", new BsonDocument())) : "{}");
+                break;
+            }
+            case "findAndModify":
+                shape.append(normalize(command.get("query", new BsonDocument())));
+                break;
+            default:
+                shape.append(normalize(command.get(command.containsKey("filter") ? "filter" : "query",
+                        new BsonDocument())));
+        }
+        if (command.isDocument("sort")) {
+            shape.append(" sort ").append(command.getDocument("sort").toJson());
+        }
+        if (command.isDocument("projection") && !command.getDocument("projection").isEmpty()) {
+            shape.append(" projection ").append(command.getDocument("projection").keySet());
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Replaces literal values with "?" while keeping field names and operators.
+     */
+    private BsonValue normalizeValue(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument normalized = new BsonDocument();
+            for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+                normalized.put(field.getKey(), normalizeValue(field.getValue()));
+            }
+            return normalized;
+        }
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+            // Arrays of sub-queries ($and, $or, pipelines) keep their structure, value lists collapse
+            if (!array.isEmpty() && array.get(0).isDocument()) {
+                BsonArray normalized = new BsonArray();
+                for (BsonValue element : array) {
+                    normalized.add(normalizeValue(element));
+                }
+                return normalized;
+            }
+        }
+        return new BsonString("?");
+    }
+
+    private String normalize(BsonValue value) {
+        BsonValue normalized = normalizeValue(value);
+        return normalized.isDocument() ? normalized.asDocument().toJson() : normalized.toString();
+    }
+
+    private static class ShapeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+        private final LongAdder documentsReturned = new LongAdder();
+        private final AtomicLong explainedAt = new AtomicLong();
+        private volatile String plan;
+
+        private boolean shouldExplain(long nowMillis) {
+            long last = explainedAt.get();
+            return (last == 0 || nowMillis - last > PLAN_REFRESH_MILLIS) && explainedAt.compareAndSet(last, nowMillis);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class SlowCommand {
+        private Instant timestamp;
+        private String collection;
+        private String command;
+        private String shape;
+        private double durationMillis;
+        private long documentsReturned;
+        private String error;
+        private String plan;
+
+        public SlowCommand(Instant timestamp, String collection, String command, String shape,
+                double durationMillis, long documentsReturned, String error) {
+            this(timestamp, collection, command, shape, durationMillis, documentsReturned, error, null);
+        }
+
+        private SlowCommand withPlan(String plan) {
+            return new SlowCommand(timestamp, collection, command, shape, durationMillis, documentsReturned, error, plan);
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class ShapeSummary {
+        private String shape;
+        private long count;
+        private double totalMillis;
+        private double averageMillis;
+        private double maxMillis;
+        private long documentsReturned;
+        private String plan;
+    }
+}
@@ -0,0 +1,34 @@
+package com.berkay.portfolio.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint with per-shape totals of slow Mongo commands and the most recent ones.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    @Autowired
+    private SlowCommandLog slowCommandLog;
+
+    @ReadOperation
+    public Map<String, Object> slowQueries() {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("shapes", slowCommandLog.summaries());
+        response.put("recent", slowCommandLog.recent());
+        return response;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowCommandLog.clear();
+    }
+}
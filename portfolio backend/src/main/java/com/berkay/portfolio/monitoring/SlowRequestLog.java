@@ -0,0 +1,77 @@
+package com.berkay.portfolio.monitoring;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Keeps the slowest N requests since startup (or the last reset) with their phase breakdown.
+ * Requests faster than the current N-th slowest are rejected without taking the lock.
+ */
+@Component
+public class SlowRequestLog {
+
+    @Value("${monitoring.slow-requests.capacity:50}")
+    private int capacity;
+
+    private final PriorityQueue<SlowRequest> slowest =
+            new PriorityQueue<>(Comparator.comparingDouble(SlowRequest::getTotalMillis));
+
+    // Total of the fastest retained entry once the log is full, read without locking
+    private volatile double thresholdMillis;
+
+    void offer(String method, String uri, int status, RequestTiming timing) {
+        double totalMillis = timing.elapsedNanos() / 1_000_000.0;
+        if (totalMillis <= thresholdMillis) {
+            return;
+        }
+        synchronized (slowest) {
+            if (slowest.size() >= capacity) {
+                if (totalMillis <= slowest.peek().getTotalMillis()) {
+                    return;
+                }
+                slowest.poll();
+            }
+            slowest.add(new SlowRequest(Instant.now(), method, uri, status, totalMillis, timing.phaseMillis()));
+            if (slowest.size() >= capacity) {
+                thresholdMillis = slowest.peek().getTotalMillis();
+            }
+        }
+    }
+
+    public List<SlowRequest> snapshot() {
+        List<SlowRequest> requests;
+        synchronized (slowest) {
+            requests = new ArrayList<>(slowest);
+        }
+        requests.sort(Comparator.comparingDouble(SlowRequest::getTotalMillis).reversed());
+        return requests;
+    }
+
+    public void clear() {
+        synchronized (slowest) {
+            slowest.clear();
+            thresholdMillis = 0;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class SlowRequest {
+        private Instant timestamp;
+        private String method;
+        private String uri;
+        private int status;
+        private double totalMillis;
+        private Map<String, Double> phases;
+    }
+}
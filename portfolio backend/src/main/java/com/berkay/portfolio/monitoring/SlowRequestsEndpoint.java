@@ -0,0 +1,30 @@
+package com.berkay.portfolio.monitoring;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint listing the slowest requests, slowest first. DELETE starts a new window.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+
+    @ReadOperation
+    public List<SlowRequestLog.SlowRequest> slowRequests() {
+        return slowRequestLog.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowRequestLog.clear();
+    }
+}
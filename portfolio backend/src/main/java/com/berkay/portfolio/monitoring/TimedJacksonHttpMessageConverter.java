@@ -0,0 +1,43 @@
+package com.berkay.portfolio.monitoring;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson converter that times serialization while streaming the body to the response. Headers
+ * go out with the first bytes, so the Server-Timing header carries the phases up to here; the
+ * json phase is recorded for the metrics and the slow request log. Once the response buffer is
+ * full, the json phase also includes time spent waiting on a slow client.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        if (!timing.isHeaderWritten()) {
+            outputMessage.getHeaders().add(ServerTimingFilter.HEADER, timing.toHeader());
+        }
+
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            RequestTiming.record(RequestTiming.Phase.JSON, System.nanoTime() - start);
+        }
+    }
+}
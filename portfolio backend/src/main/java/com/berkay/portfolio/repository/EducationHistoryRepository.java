@@ -4,12 +4,18 @@ import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import com.berkay.portfolio.model.EducationHistory;
 
 public interface EducationHistoryRepository extends MongoRepository<EducationHistory, String> {
+    // Cache and index loads, pinned to the primary (see MongoConfig)
+    @ReadPreference("primary")
     List<EducationHistory> findAllByOrderByDisplayOrderAsc();
+    @ReadPreference("primary")
     List<EducationHistory> findAll();
+    @ReadPreference("primary")
+    List<EducationHistory> findAllById(Iterable<String> ids);
     List<EducationHistory> findByDisplayOrder(Integer displayOrder);
     List<EducationHistory> findBySchoolName(String schoolName);
     List<EducationHistory> findByDegree(String degree);
@@ -4,12 +4,18 @@ import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import com.berkay.portfolio.model.JobHistory;
 
 public interface JobHistoryRepository extends MongoRepository<JobHistory, String> {
+    // Cache and index loads, pinned to the primary (see MongoConfig)
+    @ReadPreference("primary")
     List<JobHistory> findAllByOrderByDisplayOrderAsc();
+    @ReadPreference("primary")
     List<JobHistory> findAll();
+    @ReadPreference("primary")
+    List<JobHistory> findAllById(Iterable<String> ids);
     List<JobHistory> findByDisplayOrder(Integer displayOrder);
     List<JobHistory> findByCompanyName(String companyName);
     List<JobHistory> findByJobTitle(String jobTitle);
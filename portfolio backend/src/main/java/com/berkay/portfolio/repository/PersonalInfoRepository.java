@@ -1,10 +1,17 @@
 package com.berkay.portfolio.repository;
 
+import java.util.List;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import com.berkay.portfolio.model.PersonalInfo;
 
 public interface PersonalInfoRepository extends MongoRepository<PersonalInfo, String> {
+    // Cache load, pinned to the primary (see MongoConfig)
+    @ReadPreference("primary")
+    List<PersonalInfo> findAll();
+
     PersonalInfo findByName(String name);
     PersonalInfo findByEmail(String email);
     PersonalInfo findByPhone(String phone);
@@ -3,11 +3,17 @@ package com.berkay.portfolio.repository;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import com.berkay.portfolio.model.ProfessionalSkills;
 
 public interface ProfessionalSkillsRepository extends MongoRepository<ProfessionalSkills, String> {
+    // Cache and index loads, pinned to the primary (see MongoConfig)
+    @ReadPreference("primary")
     List<ProfessionalSkills> findAllByOrderByDisplayOrderAsc();
+    @ReadPreference("primary")
     List<ProfessionalSkills> findAll();
+    @ReadPreference("primary")
+    List<ProfessionalSkills> findAllById(Iterable<String> ids);
 
 }
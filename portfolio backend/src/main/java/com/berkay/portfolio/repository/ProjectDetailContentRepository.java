@@ -3,12 +3,18 @@ package com.berkay.portfolio.repository;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import com.berkay.portfolio.model.ProjectDetailContent;
 
 public interface ProjectDetailContentRepository extends MongoRepository<ProjectDetailContent, String> {
     List<ProjectDetailContent> findAllByOrderByDisplayOrderAsc();
+    // Cache and index loads, pinned to the primary (see MongoConfig)
+    @ReadPreference("primary")
     List<ProjectDetailContent> findAll();
+    @ReadPreference("primary")
+    List<ProjectDetailContent> findAllById(Iterable<String> ids);
     List<ProjectDetailContent> findByDisplayOrder(Integer displayOrder);
+    @ReadPreference("primary")
     List<ProjectDetailContent> findByProjectId(String projectId);
 }
@@ -1,16 +1,29 @@
 package com.berkay.portfolio.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReadPreference;
 
 import com.berkay.portfolio.model.Projects;
 
 public interface ProjectsRepository extends MongoRepository<Projects, String> {
+    // Cache and index loads, pinned to the primary (see MongoConfig)
+    @ReadPreference("primary")
     List<Projects> findAllByOrderByDisplayOrderAsc();
+    @ReadPreference("primary")
     List<Projects> findAll();
+    @ReadPreference("primary")
+    List<Projects> findAllById(Iterable<String> ids);
     List<Projects> findByDisplayOrder(Integer displayOrder);
     List<Projects> findByProjectName(String projectName);
     List<Projects> findByProjectDescription(String projectDescription);
     List<Projects> findByProjectLink(String projectLink);
+
+    // Projects carrying every one of the tags, served by the technologyTags/displayOrder index
+    @ReadPreference("primary")
+    @Query(value = "{ 'technologyTags': { '$all': ?0 } }", sort = "{ 'displayOrder': 1 }")
+    List<Projects> findByAllTechnologyTagsOrderByDisplayOrderAsc(Collection<String> tags);
 }
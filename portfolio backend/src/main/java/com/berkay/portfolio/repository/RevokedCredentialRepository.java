@@ -0,0 +1,13 @@
+package com.berkay.portfolio.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.berkay.portfolio.model.RevokedCredential;
+
+public interface RevokedCredentialRepository extends MongoRepository<RevokedCredential, String> {
+    List<RevokedCredential> findByExpiresAtAfter(Date now);
+    List<RevokedCredential> findByRevokedAtAfter(Date since);
+}
@@ -0,0 +1,59 @@
+package com.berkay.portfolio.search;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces the rich-text HTML of detail content to plain text for indexing and snippets.
+ */
+final class HtmlText {
+
+    private static final Pattern INVISIBLE = Pattern.compile("(?is)<(script|style)[^>]*>.*?</\\1\\s*>");
+    private static final Pattern TAG = Pattern.compile("(?s)<[^>]*>");
+    private static final Pattern ENTITY = Pattern.compile("&(#\\d+|#[xX][0-9a-fA-F]+|amp|lt|gt|quot|apos|nbsp);");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private HtmlText() {
+    }
+
+    static String strip(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        String text = INVISIBLE.matcher(html).replaceAll(" ");
+        text = TAG.matcher(text).replaceAll(" ");
+        Matcher entities = ENTITY.matcher(text);
+        StringBuilder decoded = new StringBuilder(text.length());
+        while (entities.find()) {
+            entities.appendReplacement(decoded, Matcher.quoteReplacement(decode(entities.group(1))));
+        }
+        entities.appendTail(decoded);
+        return WHITESPACE.matcher(decoded).replaceAll(" ").trim();
+    }
+
+    private static String decode(String entity) {
+        switch (entity) {
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            case "nbsp":
+                return " ";
+            default:
+                try {
+                    int codePoint = entity.startsWith("#x") || entity.startsWith("#X")
+                            ? Integer.parseInt(entity.substring(2), 16)
+                            : Integer.parseInt(entity.substring(1));
+                    return new String(Character.toChars(codePoint));
+                } catch (IllegalArgumentException e) {
+                    return " ";
+                }
+        }
+    }
+}
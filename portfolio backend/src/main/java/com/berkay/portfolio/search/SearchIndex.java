@@ -0,0 +1,440 @@
+package com.berkay.portfolio.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.berkay.portfolio.model.EducationHistory;
+import com.berkay.portfolio.model.JobHistory;
+import com.berkay.portfolio.model.ProfessionalSkills;
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+import com.berkay.portfolio.model.SearchHit;
+import com.berkay.portfolio.repository.EducationHistoryRepository;
+import com.berkay.portfolio.repository.JobHistoryRepository;
+import com.berkay.portfolio.repository.ProfessionalSkillsRepository;
+import com.berkay.portfolio.repository.ProjectDetailContentRepository;
+import com.berkay.portfolio.repository.ProjectsRepository;
+import com.berkay.portfolio.service.PortfolioChangedEvent;
+
+/**
+ * In-memory inverted index over projects, text detail content, jobs, education and skills,
+ * ranked with BM25 over boosted fields (titles weigh more than technologies, technologies more
+ * than body text). The last query term also matches as a prefix, for search-as-you-type.
+ *
+ * Built once at startup and kept current from {@link PortfolioChangedEvent}s, so queries never
+ * touch Mongo. Reads share a lock; writes, which are rare, take it exclusively. Updates run one
+ * at a time from load to apply, so an older read of a document never replaces a newer one;
+ * searches only wait for the apply, not for Mongo.
+ */
+@Service
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_BOOST = 3;
+    private static final double TAG_BOOST = 2;
+    private static final double BODY_BOOST = 1;
+    // Prefix matches rank below exact matches of the same term
+    private static final double PREFIX_WEIGHT = 0.7;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int SNIPPET_LENGTH = 160;
+
+    private static final String PROJECTS = "projects";
+    private static final String PROJECT_DETAIL_CONTENT = "project_detail_content";
+    private static final String JOB_HISTORY = "job_history";
+    private static final String EDUCATION_HISTORY = "education_history";
+    private static final String PROFESSIONAL_SKILLS = "professional_skills";
+
+    @Autowired
+    private ProjectsRepository projectsRepository;
+
+    @Autowired
+    private ProjectDetailContentRepository projectDetailContentRepository;
+
+    @Autowired
+    private JobHistoryRepository jobHistoryRepository;
+
+    @Autowired
+    private EducationHistoryRepository educationHistoryRepository;
+
+    @Autowired
+    private ProfessionalSkillsRepository professionalSkillsRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held by an update from its load until it is applied
+    private final Object updates = new Object();
+    // term -> document key -> boosted term frequency
+    private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+    private final Map<String, IndexedDocument> documents = new HashMap<>();
+    private double totalLength;
+
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    // Retries the initial build if Mongo was unreachable at startup
+    @Scheduled(fixedDelay = 30_000, initialDelay = 30_000)
+    public void retryBuild() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        try {
+            for (String collection : List.of(PROJECTS, PROJECT_DETAIL_CONTENT, JOB_HISTORY, EDUCATION_HISTORY, PROFESSIONAL_SKILLS)) {
+                reindexCollection(collection);
+            }
+            built = true;
+            log.info("Search index built with {} documents and {} terms", documentCount(), termCount());
+        } catch (Exception e) {
+            log.warn("Failed to build search index: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        try {
+            if (event.getIds().isEmpty()) {
+                reindexCollection(event.getCollection());
+                return;
+            }
+            List<String> ids = new ArrayList<>(event.getIds());
+            synchronized (updates) {
+                List<IndexedDocument> loaded = load(event.getCollection(), ids);
+                if (loaded == null) {
+                    // Not an indexed collection
+                    return;
+                }
+                lock.writeLock().lock();
+                try {
+                    for (String id : ids) {
+                        remove(key(event.getCollection(), id));
+                    }
+                    loaded.forEach(this::add);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } catch (Exception e) {
+            // The write itself succeeded; the index catches up on the next change or rebuild
+            log.warn("Failed to update search index for {}: {}", event.getCollection(), e.getMessage());
+            built = false;
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> terms = Tokenizer.tokens(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // While typing, the last term is usually incomplete
+        boolean prefixLast = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = totalLength / documents.size();
+            Map<String, Double> scores = new HashMap<>();
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                if (i == terms.size() - 1 && prefixLast) {
+                    int expansions = 0;
+                    for (Map.Entry<String, Map<String, Double>> entry : withPrefix(term).entrySet()) {
+                        double weight = entry.getKey().equals(term) ? 1 : PREFIX_WEIGHT;
+                        score(entry.getValue(), weight, averageLength, scores);
+                        if (++expansions == MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                    }
+                } else {
+                    Map<String, Double> posting = postings.get(term);
+                    if (posting != null) {
+                        score(posting, 1, averageLength, scores);
+                    }
+                }
+            }
+
+            PriorityQueue<Map.Entry<String, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                Map.Entry<String, Double> entry = top.poll();
+                hits.add(0, hit(documents.get(entry.getKey()), entry.getValue()));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed terms starting with the prefix, most frequent first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> tokens = Tokenizer.tokens(prefix);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String last = tokens.get(tokens.size() - 1);
+        lock.readLock().lock();
+        try {
+            return withPrefix(last).entrySet().stream()
+                    .sorted(Comparator.comparing((Map.Entry<String, Map<String, Double>> entry) -> entry.getValue().size())
+                            .reversed()
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void score(Map<String, Double> posting, double weight, double averageLength, Map<String, Double> scores) {
+        int n = documents.size();
+        int df = posting.size();
+        double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+        for (Map.Entry<String, Double> entry : posting.entrySet()) {
+            double tf = entry.getValue();
+            double length = documents.get(entry.getKey()).length;
+            double score = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+            scores.merge(entry.getKey(), weight * score, Double::sum);
+        }
+    }
+
+    private NavigableMap<String, Map<String, Double>> withPrefix(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private SearchHit hit(IndexedDocument document, double score) {
+        String title = document.title;
+        if (document.projectId != null) {
+            // Detail content has no title of its own, show the project it belongs to
+            IndexedDocument project = documents.get(key(PROJECTS, document.projectId));
+            title = project != null ? project.title : title;
+        }
+        return SearchHit.builder()
+                .type(document.type)
+                .id(document.id)
+                .projectId(document.projectId)
+                .title(title)
+                .snippet(document.snippet)
+                .score(score)
+                .build();
+    }
+
+    private void reindexCollection(String collection) {
+        synchronized (updates) {
+            List<IndexedDocument> loaded = load(collection, null);
+            if (loaded == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                String keyPrefix = collection + ":";
+                for (String key : new ArrayList<>(documents.keySet())) {
+                    if (key.startsWith(keyPrefix)) {
+                        remove(key);
+                    }
+                }
+                loaded.forEach(this::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Loads and tokenizes documents of a collection, all of them when ids is null.
+     * @return null if the collection is not indexed
+     */
+    private List<IndexedDocument> load(String collection, List<String> ids) {
+        switch (collection) {
+            case PROJECTS:
+                return convert(ids == null ? projectsRepository.findAll() : projectsRepository.findAllById(ids), this::fromProject);
+            case PROJECT_DETAIL_CONTENT:
+                return convert(ids == null ? projectDetailContentRepository.findAll() : projectDetailContentRepository.findAllById(ids), this::fromDetailContent);
+            case JOB_HISTORY:
+                return convert(ids == null ? jobHistoryRepository.findAll() : jobHistoryRepository.findAllById(ids), this::fromJob);
+            case EDUCATION_HISTORY:
+                return convert(ids == null ? educationHistoryRepository.findAll() : educationHistoryRepository.findAllById(ids), this::fromEducation);
+            case PROFESSIONAL_SKILLS:
+                return convert(ids == null ? professionalSkillsRepository.findAll() : professionalSkillsRepository.findAllById(ids), this::fromSkill);
+            default:
+                return null;
+        }
+    }
+
+    private <T> List<IndexedDocument> convert(List<T> entities, Function<T, IndexedDocument> converter) {
+        List<IndexedDocument> converted = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            IndexedDocument document = converter.apply(entity);
+            if (document != null) {
+                converted.add(document);
+            }
+        }
+        return converted;
+    }
+
+    private IndexedDocument fromProject(Projects project) {
+        return new IndexedDocument(PROJECTS, "project", project.getId(), null, project.getProjectName(), project.getProjectDescription())
+                .field(project.getProjectName(), TITLE_BOOST)
+                .field(project.getProjectTechnologies(), TAG_BOOST)
+                .field(project.getProjectDescription(), BODY_BOOST);
+    }
+
+    private IndexedDocument fromDetailContent(ProjectDetailContent content) {
+        // Only rich text is searchable, image and video entries hold just a media reference
+        if (content.getProjectDetailContentType() != ProjectDetailContent.ProjectDetailContentType.TEXT) {
+            return null;
+        }
+        String text = HtmlText.strip(content.getProjectDetailContent());
+        return new IndexedDocument(PROJECT_DETAIL_CONTENT, "project-detail", content.getId(), content.getProjectId(), null, text)
+                .field(text, BODY_BOOST);
+    }
+
+    private IndexedDocument fromJob(JobHistory job) {
+        String title = job.getJobTitle() + " at " + job.getCompanyName();
+        return new IndexedDocument(JOB_HISTORY, "job", job.getId(), null, title, job.getDescription())
+                .field(job.getJobTitle(), TITLE_BOOST)
+                .field(job.getCompanyName(), TITLE_BOOST)
+                .field(job.getLocation(), BODY_BOOST)
+                .field(job.getDescription(), BODY_BOOST);
+    }
+
+    private IndexedDocument fromEducation(EducationHistory education) {
+        String title = education.getDegree() + ", " + education.getFieldOfStudy() + " - " + education.getSchoolName();
+        return new IndexedDocument(EDUCATION_HISTORY, "education", education.getId(), null, title, education.getDescription())
+                .field(education.getSchoolName(), TITLE_BOOST)
+                .field(education.getFieldOfStudy(), TITLE_BOOST)
+                .field(education.getDegree(), TAG_BOOST)
+                .field(education.getLocation(), BODY_BOOST)
+                .field(education.getDescription(), BODY_BOOST);
+    }
+
+    private IndexedDocument fromSkill(ProfessionalSkills skill) {
+        String level = skill.getSkillLevel() != null ? skill.getSkillLevel().getName() : null;
+        return new IndexedDocument(PROFESSIONAL_SKILLS, "skill", skill.getId(), null, skill.getSkillName(), level)
+                .field(skill.getSkillName(), TITLE_BOOST);
+    }
+
+    // Callers hold the write lock
+    private void add(IndexedDocument document) {
+        documents.put(document.key, document);
+        totalLength += document.length;
+        for (Map.Entry<String, Double> term : document.terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), ignored -> new HashMap<>()).put(document.key, term.getValue());
+        }
+    }
+
+    // Callers hold the write lock
+    private void remove(String key) {
+        IndexedDocument document = documents.remove(key);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String term : document.terms.keySet()) {
+            Map<String, Double> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(key);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static String key(String collection, String id) {
+        return collection + ":" + id;
+    }
+
+    private static String snippet(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', SNIPPET_LENGTH);
+        return text.substring(0, end > 0 ? end : SNIPPET_LENGTH) + "...";
+    }
+
+    /**
+     * A tokenized document; immutable once added to the index.
+     */
+    private static final class IndexedDocument {
+        private final String key;
+        private final String type;
+        private final String id;
+        private final String projectId;
+        private final String title;
+        private final String snippet;
+        private final Map<String, Double> terms = new HashMap<>();
+        private double length;
+
+        private IndexedDocument(String collection, String type, String id, String projectId, String title, String text) {
+            this.key = key(collection, id);
+            this.type = type;
+            this.id = id;
+            this.projectId = projectId;
+            this.title = title;
+            this.snippet = snippet(text);
+        }
+
+        private IndexedDocument field(String text, double boost) {
+            for (String token : Tokenizer.tokens(text)) {
+                terms.merge(token, boost, Double::sum);
+                length += boost;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.berkay.portfolio.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lowercase, accent-free terms. Trailing '+' and '#' stay part of the term
+ * so technologies like C++ and C# remain searchable.
+ */
+final class Tokenizer {
+
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+[+#]*");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        Matcher matcher = TERM.matcher(normalize(text));
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        // Dotless i does not decompose, map it so "ı" and "i" match
+        return MARKS.matcher(decomposed).replaceAll("").replace('ı', 'i').toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,316 @@
+package com.berkay.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berkay.portfolio.model.BatchRequest;
+import com.berkay.portfolio.model.BatchResult;
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+import com.berkay.portfolio.model.Versioned;
+import com.mongodb.bulk.BulkWriteResult;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Applies a {@link BatchRequest} to one collection as a single unordered bulk write inside a
+ * transaction: one round trip for the whole batch, and a failure leaves nothing half applied.
+ * Listeners are notified once per batch; media of deleted documents, and media updates replaced,
+ * is removed after commit.
+ * Deleted projects take their detail content with them, as through {@link ProjectDeletionService}.
+ */
+@Service
+public class BatchWriteService {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchWriteService.class);
+
+    private static final String DISPLAY_ORDER = "displayOrder";
+    private static final String VERSION = "version";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoTransactionManager transactionManager;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private InlineMediaExtractor inlineMediaExtractor;
+
+    @Autowired
+    private ProjectDeletionService projectDeletionService;
+
+    @Autowired
+    private PatchService patchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${batch.max-operations:500}")
+    private int maxOperations;
+
+    // Transactions need a replica set; standalone development servers can turn them off
+    @Value("${batch.transactional:true}")
+    private boolean transactional;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the batch is empty, too large or names an id twice
+     */
+    public <T> BatchResult<T> apply(Class<T> type, BatchRequest<T> request) {
+        int operations = request.operationCount();
+        if (operations == 0) {
+            throw new IllegalArgumentException("Batch contains no operations");
+        }
+        if (operations > maxOperations) {
+            throw new IllegalArgumentException("Batch contains more than " + maxOperations + " operations");
+        }
+
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        Set<String> ids = referencedIds(entity, request);
+
+        List<T> deletedDocuments = new ArrayList<>();
+        // Stored document to its replacement
+        Map<T, T> replacedDocuments = new IdentityHashMap<>();
+        Set<String> detailContentMedia = new LinkedHashSet<>();
+        BatchResult<T> result = transactional
+                ? transactionTemplate.execute(status ->
+                        write(type, entity, request, ids, deletedDocuments, replacedDocuments, detailContentMedia))
+                : write(type, entity, request, ids, deletedDocuments, replacedDocuments, detailContentMedia);
+
+        replacedDocuments.forEach(patchService::deleteRemovedMedia);
+
+        List<String> media = new ArrayList<>(detailContentMedia);
+        for (T document : deletedDocuments) {
+            for (MediaReferences.Reference reference : MediaReferences.of(document)) {
+                // External links are not ours to delete
+                if (!mediaService.isBucketReference(reference.getUrl())) {
+                    continue;
+                }
+                media.add(reference.getUrl());
+                if (reference.getMetadata() != null && reference.getMetadata().getPosterKey() != null) {
+                    media.add(reference.getMetadata().getPosterKey());
+                }
+            }
+        }
+        if (!media.isEmpty()) {
+            List<String> failed = mediaService.deleteFiles(inlineMediaExtractor.unshared(media));
+            if (!failed.isEmpty()) {
+                log.warn("Failed to delete {} media files of deleted documents", failed.size());
+            }
+        }
+
+        Set<String> changed = new LinkedHashSet<>(ids);
+        result.getCreated().forEach(document -> changed.add(id(entity, document)));
+        changed.removeAll(result.getNotFound());
+        changed.removeAll(result.getConflicts());
+        eventPublisher.publishEvent(new PortfolioChangedEvent(mongoTemplate.getCollectionName(type), changed));
+        if (type == Projects.class && !deletedDocuments.isEmpty()) {
+            // Child ids were never loaded; an empty id list means the whole collection may have changed
+            eventPublisher.publishEvent(new PortfolioChangedEvent(
+                    mongoTemplate.getCollectionName(ProjectDetailContent.class), List.of()));
+        }
+        return result;
+    }
+
+    private <T> BatchResult<T> write(Class<T> type, MongoPersistentEntity<?> entity, BatchRequest<T> request,
+            Set<String> ids, List<T> deletedDocuments, Map<T, T> replacedDocuments, Set<String> detailContentMedia) {
+        // One read for every document the batch touches: unknown ids are skipped instead of
+        // upserted, stored media metadata is carried over and deleted documents' media is known
+        Map<String, T> existing = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (T document : mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)), type)) {
+                existing.put(id(entity, document), document);
+            }
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        boolean empty = true;
+        List<String> notFound = new ArrayList<>();
+        List<String> conflicts = new ArrayList<>();
+        int matches = 0;
+
+        List<T> created = new ArrayList<>();
+        for (T document : list(request.getCreate())) {
+            // Assigned here so the response can carry the ids of the new documents
+            setId(entity, document, new ObjectId().toHexString());
+            bulk.insert(document);
+            created.add(document);
+            empty = false;
+        }
+
+        for (T document : list(request.getUpdate())) {
+            String id = id(entity, document);
+            T current = existing.get(id);
+            if (current == null) {
+                notFound.add(id);
+                continue;
+            }
+            MediaReferences.carryOverMetadata(current, document);
+            if (current instanceof Versioned stored && document instanceof Versioned incoming) {
+                // A version sent with the document is the one the update is based on, as If-Match
+                long basedOn = incoming.getVersion() != null ? incoming.getVersion() : Versions.current(stored);
+                if (basedOn != Versions.current(stored)) {
+                    conflicts.add(id);
+                    continue;
+                }
+                incoming.setVersion(basedOn + 1);
+                bulk.replaceOne(Query.query(Versions.matching(id, basedOn)), document);
+            } else {
+                bulk.replaceOne(byId(id), document);
+            }
+            replacedDocuments.put(current, document);
+            matches++;
+            empty = false;
+        }
+
+        for (BatchRequest.Reorder reorder : list(request.getReorder())) {
+            if (!existing.containsKey(reorder.getId())) {
+                notFound.add(reorder.getId());
+                continue;
+            }
+            bulk.updateOne(byId(reorder.getId()), Update.update(DISPLAY_ORDER, reorder.getDisplayOrder()).inc(VERSION, 1));
+            matches++;
+            empty = false;
+        }
+
+        List<String> deleteIds = new ArrayList<>();
+        for (String id : list(request.getDelete())) {
+            T current = existing.get(id);
+            if (current == null) {
+                notFound.add(id);
+                continue;
+            }
+            deleteIds.add(id);
+            deletedDocuments.add(current);
+        }
+        if (!deleteIds.isEmpty()) {
+            bulk.remove(Query.query(Criteria.where("_id").in(deleteIds)));
+            empty = false;
+            if (type == Projects.class) {
+                projectDeletionService.deleteDetailContent(deleteIds, detailContentMedia);
+            }
+        }
+
+        BatchResult<T> result = BatchResult.<T>builder()
+                .created(created)
+                .notFound(notFound)
+                .conflicts(conflicts)
+                .build();
+        if (!empty) {
+            BulkWriteResult written = bulk.execute();
+            if (written.getMatchedCount() < matches) {
+                // Without a transaction another request may update a document between the read and the write
+                List<String> overtaken = overtaken(type, entity, replacedDocuments.values());
+                conflicts.addAll(overtaken);
+                replacedDocuments.values().removeIf(document -> overtaken.contains(id(entity, document)));
+            }
+            result.setInserted(written.getInsertedCount());
+            result.setMatched(written.getMatchedCount());
+            result.setModified(written.getModifiedCount());
+            result.setDeleted(written.getDeletedCount());
+        }
+        return result;
+    }
+
+    // Replaced documents that do not hold the version this batch wrote
+    private <T> List<String> overtaken(Class<T> type, MongoPersistentEntity<?> entity, Collection<T> replaced) {
+        Map<String, Long> written = new HashMap<>();
+        for (T document : replaced) {
+            if (document instanceof Versioned versioned) {
+                written.put(id(entity, document), versioned.getVersion());
+            }
+        }
+        if (written.isEmpty()) {
+            return List.of();
+        }
+        Query query = Query.query(Criteria.where("_id").in(written.keySet()));
+        query.fields().include(VERSION);
+        Set<String> kept = new HashSet<>();
+        for (T stored : mongoTemplate.find(query, type)) {
+            if (Versions.current((Versioned) stored) == written.get(id(entity, stored))) {
+                kept.add(id(entity, stored));
+            }
+        }
+        List<String> overtaken = new ArrayList<>(written.keySet());
+        overtaken.removeAll(kept);
+        return overtaken;
+    }
+
+    private Set<String> referencedIds(MongoPersistentEntity<?> entity, BatchRequest<?> request) {
+        Set<String> ids = new LinkedHashSet<>();
+        Set<String> duplicates = new HashSet<>();
+        for (Object document : list(request.getUpdate())) {
+            String id = id(entity, document);
+            if (id == null) {
+                throw new IllegalArgumentException("Every updated document needs an id");
+            }
+            if (!ids.add(id)) {
+                duplicates.add(id);
+            }
+        }
+        for (BatchRequest.Reorder reorder : list(request.getReorder())) {
+            if (!ids.add(reorder.getId())) {
+                duplicates.add(reorder.getId());
+            }
+        }
+        for (String id : list(request.getDelete())) {
+            if (!ids.add(id)) {
+                duplicates.add(id);
+            }
+        }
+        // Operations of an unordered bulk write have no defined order, so one id gets one operation
+        if (!duplicates.isEmpty()) {
+            throw new IllegalArgumentException("Ids appear in more than one operation: " + duplicates);
+        }
+        return ids;
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    private static String id(MongoPersistentEntity<?> entity, Object document) {
+        Object id = entity.getIdentifierAccessor(document).getIdentifier();
+        return id == null ? null : id.toString();
+    }
+
+    private static void setId(MongoPersistentEntity<?> entity, Object document, String id) {
+        entity.getPropertyAccessor(document).setProperty(entity.getRequiredIdProperty(), id);
+    }
+
+    private static <E> List<E> list(List<E> list) {
+        return list == null ? List.of() : list;
+    }
+}
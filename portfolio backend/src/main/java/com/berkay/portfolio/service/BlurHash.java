@@ -0,0 +1,132 @@
+package com.berkay.portfolio.service;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Minimal BlurHash encoder (https://blurha.sh).
+ * Encodes an image into a short string that clients decode into a blurred placeholder.
+ */
+public final class BlurHash {
+
+    private static final String CHARACTERS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    private BlurHash() {
+    }
+
+    /**
+     * Encodes the image using the given number of horizontal and vertical components (1-9).
+     * The image should already be downscaled; the cost is O(width * height * components).
+     */
+    public static String encode(BufferedImage image, int componentsX, int componentsY) {
+        if (componentsX < 1 || componentsX > 9 || componentsY < 1 || componentsY > 9) {
+            throw new IllegalArgumentException("BlurHash components must be between 1 and 9");
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        // Convert to linear RGB once instead of per component
+        double[] linearR = new double[pixels.length];
+        double[] linearG = new double[pixels.length];
+        double[] linearB = new double[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            linearR[i] = srgbToLinear((pixels[i] >> 16) & 0xFF);
+            linearG[i] = srgbToLinear((pixels[i] >> 8) & 0xFF);
+            linearB[i] = srgbToLinear(pixels[i] & 0xFF);
+        }
+
+        double[][] factors = new double[componentsX * componentsY][];
+        for (int j = 0; j < componentsY; j++) {
+            for (int i = 0; i < componentsX; i++) {
+                double normalisation = (i == 0 && j == 0) ? 1 : 2;
+                double r = 0;
+                double g = 0;
+                double b = 0;
+                for (int y = 0; y < height; y++) {
+                    double basisY = Math.cos(Math.PI * j * y / height);
+                    for (int x = 0; x < width; x++) {
+                        double basis = normalisation * Math.cos(Math.PI * i * x / width) * basisY;
+                        int index = y * width + x;
+                        r += basis * linearR[index];
+                        g += basis * linearG[index];
+                        b += basis * linearB[index];
+                    }
+                }
+                double scale = 1.0 / (width * height);
+                factors[j * componentsX + i] = new double[] { r * scale, g * scale, b * scale };
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        encode83((componentsX - 1) + (componentsY - 1) * 9, 1, hash);
+
+        double maximumValue;
+        if (factors.length > 1) {
+            double actualMaximum = 0;
+            for (int i = 1; i < factors.length; i++) {
+                for (double component : factors[i]) {
+                    actualMaximum = Math.max(actualMaximum, Math.abs(component));
+                }
+            }
+            int quantisedMaximum = (int) Math.max(0, Math.min(82, Math.floor(actualMaximum * 166 - 0.5)));
+            maximumValue = (quantisedMaximum + 1) / 166.0;
+            encode83(quantisedMaximum, 1, hash);
+        } else {
+            maximumValue = 1;
+            encode83(0, 1, hash);
+        }
+
+        encode83(encodeDc(factors[0]), 4, hash);
+        for (int i = 1; i < factors.length; i++) {
+            encode83(encodeAc(factors[i], maximumValue), 2, hash);
+        }
+        return hash.toString();
+    }
+
+    private static int encodeDc(double[] value) {
+        return (linearToSrgb(value[0]) << 16) + (linearToSrgb(value[1]) << 8) + linearToSrgb(value[2]);
+    }
+
+    private static int encodeAc(double[] value, double maximumValue) {
+        int quantR = quantiseAc(value[0] / maximumValue);
+        int quantG = quantiseAc(value[1] / maximumValue);
+        int quantB = quantiseAc(value[2] / maximumValue);
+        return quantR * 19 * 19 + quantG * 19 + quantB;
+    }
+
+    private static int quantiseAc(double value) {
+        double signPow = Math.copySign(Math.pow(Math.abs(value), 0.5), value);
+        return (int) Math.max(0, Math.min(18, Math.floor(signPow * 9 + 9.5)));
+    }
+
+    private static double srgbToLinear(int value) {
+        double v = value / 255.0;
+        return v <= 0.04045 ? v / 12.92 : Math.pow((v + 0.055) / 1.055, 2.4);
+    }
+
+    // Truncating after adding 0.5 rounds, as the reference encoder does; the result stays within 0-255
+    private static int linearToSrgb(double value) {
+        double v = Math.max(0, Math.min(1, value));
+        if (v <= 0.0031308) {
+            return (int) (v * 12.92 * 255 + 0.5);
+        }
+        return (int) ((1.055 * Math.pow(v, 1 / 2.4) - 0.055) * 255 + 0.5);
+    }
+
+    private static void encode83(int value, int length, StringBuilder out) {
+        for (int i = 1; i <= length; i++) {
+            int digit = (value / pow83(length - i)) % 83;
+            out.append(CHARACTERS.charAt(digit));
+        }
+    }
+
+    private static int pow83(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 83;
+        }
+        return result;
+    }
+}
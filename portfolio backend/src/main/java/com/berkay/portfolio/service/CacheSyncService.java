@@ -0,0 +1,301 @@
+package com.berkay.portfolio.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDateTime;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the in-memory state of this instance (read cache, search index, facets) coherent with
+ * writes made through other instances, by republishing them as remote
+ * {@link PortfolioChangedEvent}s.
+ *
+ * On a replica set it follows a change stream over the portfolio collections. The resume token
+ * is persisted per instance, so after a restart or reconnect the stream continues where it
+ * stopped instead of missing the writes in between. A standalone mongod has no change streams;
+ * there every write increments a per-collection counter in a version document, and instances
+ * poll those counters and reload the collections whose counter moved.
+ */
+@Service
+public class CacheSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheSyncService.class);
+
+    // admin: password and credential version changes, cached by CustomUserDetailsService
+    private static final List<String> COLLECTIONS = List.of("personal_info", "projects", "project_detail_content",
+            "job_history", "education_history", "professional_skills", CustomUserDetailsService.ADMIN_COLLECTION);
+
+    private static final String STATE_COLLECTION = "cache_sync_state";
+    private static final String VERSIONS_COLLECTION = "portfolio_versions";
+
+    // $changeStream on a standalone server
+    private static final int NOT_A_REPLICA_SET = 40573;
+    // The oplog no longer contains the resume token
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int CHANGE_STREAM_FATAL_ERROR = 280;
+
+    private static final long MAX_AWAIT_MILLIS = 1_000;
+    private static final long TOKEN_PERSIST_INTERVAL_MILLIS = 10_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${cache-sync.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache-sync.mode:auto}")
+    private String mode;
+
+    @Value("${cache-sync.instance-id:${HOSTNAME:local}}")
+    private String instanceId;
+
+    // Collection -> last version counter seen while polling
+    private final Map<String, Long> seenVersions = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private volatile boolean polling;
+    private volatile boolean baselined;
+
+    private BsonDocument persistedToken;
+    private long persistedAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        if ("polling".equalsIgnoreCase(mode)) {
+            startPolling();
+            return;
+        }
+        Thread watcher = new Thread(this::watch, "cache-sync-change-stream");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        // The watcher notices within MAX_AWAIT_MILLIS
+        running = false;
+    }
+
+    // Counts local writes for the instances polling the version document
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        if (!polling || event.isRemote() || !COLLECTIONS.contains(event.getCollection())) {
+            return;
+        }
+        try {
+            Document updated = versions().findOneAndUpdate(Filters.eq("_id", event.getCollection()),
+                    Updates.inc("version", 1L),
+                    new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+            long version = ((Number) updated.get("version")).longValue();
+            // Our own write, no need to reload it on the next poll
+            seenVersions.compute(event.getCollection(),
+                    (ignored, seen) -> (seen == null ? 0 : seen) == version - 1 ? Long.valueOf(version) : seen);
+        } catch (Exception e) {
+            log.warn("Failed to bump version of {}: {}", event.getCollection(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache-sync.poll-interval-ms:2000}")
+    public void poll() {
+        if (!polling || !running) {
+            return;
+        }
+        try {
+            for (Document document : versions().find()) {
+                String collection = document.getString("_id");
+                long version = ((Number) document.get("version")).longValue();
+                Long seen = seenVersions.put(collection, version);
+                boolean changed = seen == null ? baselined : seen != version;
+                if (changed) {
+                    publish(collection, List.of());
+                }
+            }
+            baselined = true;
+        } catch (Exception e) {
+            log.warn("Failed to poll portfolio versions: {}", e.getMessage());
+        }
+    }
+
+    private void startPolling() {
+        polling = true;
+        log.info("Following other instances by polling {}", VERSIONS_COLLECTION);
+        poll();
+    }
+
+    private void watch() {
+        BsonDocument resumeToken = loadResumeToken();
+        long backoff = MAX_AWAIT_MILLIS;
+        while (running) {
+            try {
+                ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                        .watch(List.of(Aggregates.match(Filters.in("ns.coll", COLLECTIONS))))
+                        .maxAwaitTime(MAX_AWAIT_MILLIS, TimeUnit.MILLISECONDS);
+                if (resumeToken != null) {
+                    stream = stream.resumeAfter(resumeToken);
+                }
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+                    log.info("Following other instances through a change stream{}", resumeToken != null ? " (resumed)" : "");
+                    backoff = MAX_AWAIT_MILLIS;
+                    while (running) {
+                        ChangeStreamDocument<Document> change = cursor.tryNext();
+                        if (change != null && change.getOperationType() == OperationType.INVALIDATE) {
+                            // The stream is closed and cannot be resumed past this point
+                            resumeToken = null;
+                            reloadAll();
+                            break;
+                        }
+                        if (change != null) {
+                            handle(change);
+                        }
+                        BsonDocument token = cursor.getResumeToken();
+                        if (token != null) {
+                            resumeToken = token;
+                            persistResumeToken(token, change != null);
+                        }
+                    }
+                }
+            } catch (MongoCommandException e) {
+                if (e.getErrorCode() == NOT_A_REPLICA_SET) {
+                    log.info("Change streams are not available, the server is not a replica set");
+                    startPolling();
+                    return;
+                }
+                if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST || e.getErrorCode() == CHANGE_STREAM_FATAL_ERROR) {
+                    // Changes since the token are gone, start over from a full reload
+                    log.warn("Cannot resume change stream: {}", e.getErrorMessage());
+                    resumeToken = null;
+                    reloadAll();
+                    continue;
+                }
+                backoff = pause(e, backoff);
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                backoff = pause(e, backoff);
+            }
+        }
+    }
+
+    private void handle(ChangeStreamDocument<Document> change) {
+        if (change.getNamespace() == null) {
+            reloadAll();
+            return;
+        }
+        String collection = change.getNamespace().getCollectionName();
+        BsonDocument documentKey = change.getDocumentKey();
+        BsonValue id = documentKey != null ? documentKey.get("_id") : null;
+        if (id == null) {
+            // Drop or rename of the collection itself
+            publish(collection, List.of());
+        } else if (id.isObjectId()) {
+            publish(collection, List.of(id.asObjectId().getValue().toHexString()));
+        } else if (id.isString()) {
+            publish(collection, List.of(id.asString().getValue()));
+        } else {
+            publish(collection, List.of());
+        }
+    }
+
+    private void reloadAll() {
+        COLLECTIONS.forEach(collection -> publish(collection, List.of()));
+    }
+
+    private void publish(String collection, List<String> ids) {
+        try {
+            eventPublisher.publishEvent(new PortfolioChangedEvent(collection, ids, true));
+        } catch (Exception e) {
+            log.warn("Failed to apply remote change of {}: {}", collection, e.getMessage());
+        }
+    }
+
+    private long pause(Exception e, long backoff) {
+        log.warn("Change stream failed, retrying in {} ms: {}", backoff, e.getMessage());
+        try {
+            Thread.sleep(backoff);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        return Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+    }
+
+    private BsonDocument loadResumeToken() {
+        try {
+            BsonDocument state = state().find(Filters.eq("_id", stateId())).first();
+            return state != null && state.isDocument("resumeToken") ? state.getDocument("resumeToken") : null;
+        } catch (Exception e) {
+            log.warn("Failed to load change stream resume token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // The post-batch token moves even without matching changes, only write it now and then
+    private void persistResumeToken(BsonDocument token, boolean afterChange) {
+        long now = System.currentTimeMillis();
+        if (token.equals(persistedToken) || (!afterChange && now - persistedAt < TOKEN_PERSIST_INTERVAL_MILLIS)) {
+            return;
+        }
+        try {
+            BsonDocument state = new BsonDocument("_id", new BsonString(stateId()))
+                    .append("resumeToken", token)
+                    .append("updatedAt", new BsonDateTime(now));
+            state().replaceOne(Filters.eq("_id", stateId()), state, new ReplaceOptions().upsert(true));
+            persistedToken = token;
+            persistedAt = now;
+        } catch (Exception e) {
+            log.warn("Failed to persist change stream resume token: {}", e.getMessage());
+        }
+    }
+
+    private String stateId() {
+        return "change-stream:" + instanceId;
+    }
+
+    private MongoCollection<BsonDocument> state() {
+        return mongoTemplate.getCollection(STATE_COLLECTION).withDocumentClass(BsonDocument.class);
+    }
+
+    private MongoCollection<Document> versions() {
+        return mongoTemplate.getCollection(VERSIONS_COLLECTION);
+    }
+}
@@ -0,0 +1,100 @@
+package com.berkay.portfolio.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.berkay.portfolio.model.RevokedCredential;
+import com.berkay.portfolio.repository.RevokedCredentialRepository;
+
+/**
+ * Keeps the set of revoked credential versions in memory so token verification never reads the database.
+ * Revocations are persisted to Mongo and every instance pulls new ones on a fixed interval.
+ * Entries only live as long as a token issued with them could, which keeps the set small.
+ */
+@Service
+public class CredentialRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CredentialRevocationService.class);
+
+    // Re-reads a short window on every sync to cover clock skew between instances
+    private static final long SYNC_OVERLAP_MILLIS = 60_000;
+
+    @Autowired
+    private RevokedCredentialRepository revokedCredentialRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${jwt.expiration:86400000}")
+    private Long tokenLifetimeMillis;
+
+    // Revoked credential version -> time after which no token carrying it can still be valid
+    private final Map<String, Long> revokedVersions = new ConcurrentHashMap<>();
+
+    private volatile long lastSyncAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            mongoTemplate.indexOps(RevokedCredential.class)
+                    .createIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+        } catch (Exception e) {
+            log.warn("Failed to ensure TTL index on revoked credentials: {}", e.getMessage());
+        }
+        sync();
+    }
+
+    public boolean isRevoked(String credentialVersion) {
+        return credentialVersion != null && revokedVersions.containsKey(credentialVersion);
+    }
+
+    public void revoke(String credentialVersion, String username) {
+        if (credentialVersion == null) {
+            return;
+        }
+        Date revokedAt = new Date();
+        Date expiresAt = new Date(revokedAt.getTime() + tokenLifetimeMillis);
+        revokedVersions.put(credentialVersion, expiresAt.getTime());
+
+        revokedCredentialRepository.save(RevokedCredential.builder()
+                .id(credentialVersion)
+                .username(username)
+                .revokedAt(revokedAt)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation-sync-interval-ms:10000}",
+            initialDelayString = "${jwt.revocation-sync-interval-ms:10000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        try {
+            List<RevokedCredential> revoked = lastSyncAt == 0
+                    ? revokedCredentialRepository.findByExpiresAtAfter(new Date(now))
+                    : revokedCredentialRepository.findByRevokedAtAfter(new Date(lastSyncAt - SYNC_OVERLAP_MILLIS));
+            for (RevokedCredential credential : revoked) {
+                revokedVersions.put(credential.getId(), credential.getExpiresAt().getTime());
+            }
+            lastSyncAt = now;
+        } catch (Exception e) {
+            // Keep serving from the in-memory set; the next sync catches up
+            log.warn("Failed to sync revoked credentials: {}", e.getMessage());
+        }
+        revokedVersions.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
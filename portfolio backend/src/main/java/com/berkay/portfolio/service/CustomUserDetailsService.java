@@ -1,6 +1,10 @@
 package com.berkay.portfolio.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,19 +14,92 @@ import org.springframework.stereotype.Service;
 import com.berkay.portfolio.model.Admin;
 import com.berkay.portfolio.repository.AdminRepository;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    public static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    public static final String ADMIN_COLLECTION = "admin";
+
     @Autowired
     private AdminRepository adminRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Backstop for instances not following changes through CacheSyncService
+    @Value("${jwt.admin-cache-ttl-ms:60000}")
+    private long adminCacheTtlMillis;
+
+    // Admins are few and change rarely; entries are evicted on username or password change,
+    // here and, through CacheSyncService, on every other instance
+    private final Map<String, CachedAdmin> adminCache = new ConcurrentHashMap<>();
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        Admin admin = loadAdmin(username);
+
+        // A new User every time: Spring Security erases credentials on the instance it is given
+        return new User(admin.getUsername(), admin.getPassword(), List.of(new SimpleGrantedAuthority(ADMIN_AUTHORITY)));
+    }
+
+    public Admin loadAdmin(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedAdmin cached = adminCache.get(username);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.admin;
+        }
         Admin admin = adminRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Admin not found with username: " + username));
+        adminCache.put(username, new CachedAdmin(admin, now + adminCacheTtlMillis));
+        return admin;
+    }
+
+    /**
+     * Returns the admin's credential version, assigning one to admins created before versions existed.
+     */
+    public String credentialVersion(Admin admin) {
+        if (admin.getCredentialVersion() == null) {
+            admin.setCredentialVersion(newCredentialVersion());
+            adminRepository.save(admin);
+            evict(admin.getUsername());
+        }
+        return admin.getCredentialVersion();
+    }
+
+    public static String newCredentialVersion() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Drops the cached admin after it was saved. The change event lets instances polling for
+     * changes pick it up; instances on a change stream see the write itself.
+     */
+    public void evict(String username) {
+        if (username != null) {
+            adminCache.remove(username);
+            eventPublisher.publishEvent(new PortfolioChangedEvent(ADMIN_COLLECTION, List.of()));
+        }
+    }
+
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        if (event.isRemote() && ADMIN_COLLECTION.equals(event.getCollection())) {
+            adminCache.clear();
+        }
+    }
+
+    private static final class CachedAdmin {
+        private final Admin admin;
+        private final long expiresAt;
 
-        return new User(admin.getUsername(), admin.getPassword(), new ArrayList<>());
+        private CachedAdmin(Admin admin, long expiresAt) {
+            this.admin = admin;
+            this.expiresAt = expiresAt;
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.berkay.portfolio.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.berkay.portfolio.model.MediaMetadata;
+
+/**
+ * Reads dimensions and a BlurHash placeholder from uploaded images.
+ * Only the image header and a subsampled copy of the pixels are decoded, never the full-size image.
+ */
+@Component
+public class ImageMetadataExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageMetadataExtractor.class);
+
+    // Longest edge of the subsampled image the placeholder is computed from
+    private static final int PLACEHOLDER_SOURCE_SIZE = 32;
+    private static final int BLURHASH_COMPONENTS_X = 4;
+    private static final int BLURHASH_COMPONENTS_Y = 3;
+
+    public MediaMetadata extract(InputStream input, String contentType, long size) {
+        MediaMetadata metadata = MediaMetadata.builder()
+                .contentType(contentType)
+                .size(size)
+                .build();
+
+        if (contentType == null || !contentType.startsWith("image/")) {
+            return metadata;
+        }
+
+        try (ImageInputStream imageInput = ImageIO.createImageInputStream(input)) {
+            if (imageInput == null) {
+                return metadata;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                // No ImageIO reader for this format (e.g. SVG), keep type and size only
+                return metadata;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                metadata.setWidth(width);
+                metadata.setHeight(height);
+
+                // Let the decoder skip pixels instead of decoding the full image and scaling it down
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / PLACEHOLDER_SOURCE_SIZE);
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage subsampled = reader.read(0, param);
+                metadata.setBlurHash(blurHash(subsampled));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Metadata is best effort, the upload itself must not fail because of it
+            log.info("Failed to extract image metadata: {}", e.getMessage());
+        }
+        return metadata;
+    }
+
+    /**
+     * Computes the placeholder for an already decoded image, downscaling it first if needed.
+     */
+    public String blurHash(BufferedImage image) {
+        return BlurHash.encode(downscale(image, PLACEHOLDER_SOURCE_SIZE), BLURHASH_COMPONENTS_X, BLURHASH_COMPONENTS_Y);
+    }
+
+    /**
+     * Scales the image so its longest edge is at most maxSize, keeping the aspect ratio.
+     */
+    public BufferedImage downscale(BufferedImage image, int maxSize) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (width <= maxSize && height <= maxSize) {
+            return image;
+        }
+        double ratio = (double) maxSize / Math.max(width, height);
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
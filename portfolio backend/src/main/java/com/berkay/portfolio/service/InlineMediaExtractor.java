@@ -0,0 +1,272 @@
+package com.berkay.portfolio.service;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.berkay.portfolio.model.MediaMetadata;
+import com.berkay.portfolio.model.ProjectDetailContent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moves images embedded as base64 data URIs in rich text to S3 and points the img tags at the
+ * uploaded files, so documents hold URLs instead of megabytes of base64. Identical images are
+ * uploaded once; distinct ones are uploaded concurrently.
+ */
+@Component
+public class InlineMediaExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(InlineMediaExtractor.class);
+
+    public static final String FOLDER = "rich-text-images";
+
+    private static final Pattern DATA_URI = Pattern.compile("(?s)data:([\\w.+-]+/[\\w.+-]+)((?:;[\\w-]+=[^;,]*)*);base64,(.*)");
+    // Raster formats only; SVG can carry scripts
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/gif", "gif",
+            "image/webp", "webp",
+            "image/avif", "avif");
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private ImageMetadataExtractor imageMetadataExtractor;
+
+    // Looked up lazily, extraction runs inside MongoTemplate's before-convert callback
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Value("${rich-text.inline-media.upload-concurrency:4}")
+    private int uploadConcurrency;
+
+    @Value("${rich-text.inline-media.max-bytes:10485760}")
+    private int maxBytes;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(uploadConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "inline-media-upload-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * @return the HTML with inline images replaced by media references, the same string if it has none
+     * @throws IllegalArgumentException if an inline image is too large or not a supported format
+     */
+    public String extract(String html) {
+        if (html == null || !html.contains("data:")) {
+            return html;
+        }
+        Document document = Jsoup.parseBodyFragment(html);
+        List<Element> images = document.body().select("img[src^=data:]");
+        if (images.isEmpty()) {
+            return html;
+        }
+
+        // Data URI -> decoded image, so the same pasted image is stored once. Everything is
+        // validated before the first upload starts.
+        Map<String, InlineImage> decoded = new LinkedHashMap<>();
+        for (Element image : images) {
+            decoded.computeIfAbsent(image.attr("src"), this::decode);
+        }
+        Map<String, CompletableFuture<Upload>> uploads = new LinkedHashMap<>();
+        decoded.forEach((src, inline) -> uploads.put(src, CompletableFuture.supplyAsync(() -> upload(inline), executor)));
+
+        Map<String, Upload> uploaded = new LinkedHashMap<>();
+        RuntimeException failure = null;
+        for (Map.Entry<String, CompletableFuture<Upload>> entry : uploads.entrySet()) {
+            try {
+                uploaded.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = new RuntimeException("Interrupted while uploading inline images", e);
+            } catch (ExecutionException e) {
+                failure = new RuntimeException("Failed to upload inline image: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+        if (failure != null) {
+            // The content is not saved, don't leave the uploads that did succeed behind
+            List<String> orphans = new ArrayList<>();
+            uploaded.values().forEach(upload -> orphans.add(upload.url));
+            mediaService.deleteFiles(orphans);
+            throw failure;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Saved as part of a transaction, e.g. a batch: the uploads are orphans if it rolls back
+            List<String> urls = new ArrayList<>();
+            uploaded.values().forEach(upload -> urls.add(upload.url));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        mediaService.deleteFiles(urls);
+                    }
+                }
+            });
+        }
+
+        for (Element image : images) {
+            Upload upload = uploaded.get(image.attr("src"));
+            image.attr("src", upload.url);
+            // Lets the browser reserve the space before the image loads
+            if (upload.width != null && !image.hasAttr("width")) {
+                image.attr("width", String.valueOf(upload.width));
+                image.attr("height", String.valueOf(upload.height));
+            }
+        }
+        log.info("Moved {} inline images to S3", uploaded.size());
+        document.outputSettings().prettyPrint(false);
+        return document.body().html();
+    }
+
+    /**
+     * URLs of the images this extractor stored for the HTML, i.e. media owned by the document.
+     */
+    public static List<String> references(String html) {
+        List<String> references = new ArrayList<>();
+        if (html == null || !html.contains(FOLDER)) {
+            return references;
+        }
+        for (Element image : Jsoup.parseBodyFragment(html).body().select("img[src]")) {
+            String src = image.attr("src");
+            if (isExtracted(src)) {
+                references.add(src);
+            }
+        }
+        return references;
+    }
+
+    /**
+     * The media to delete once documents stop referencing it: extracted images that other
+     * detail content still shows, pasted or copied from one block into another, are left out.
+     * Called after the documents were written, so they no longer count themselves.
+     */
+    public List<String> unshared(Collection<String> urls) {
+        List<String> unshared = new ArrayList<>();
+        for (String url : urls) {
+            if (!isExtracted(url) || !mongoTemplate.getObject().exists(
+                    Query.query(Criteria.where(RichTextProcessor.CONTENT_FIELD).regex(Pattern.quote(url))),
+                    ProjectDetailContent.class)) {
+                unshared.add(url);
+            }
+        }
+        return unshared;
+    }
+
+    /**
+     * Rewrites the sources of extracted images, e.g. to point them at another bucket.
+     */
+    public static String rewrite(String html, UnaryOperator<String> rewrite) {
+        if (html == null || !html.contains(FOLDER)) {
+            return html;
+        }
+        Document document = Jsoup.parseBodyFragment(html);
+        for (Element image : document.body().select("img[src]")) {
+            if (isExtracted(image.attr("src"))) {
+                image.attr("src", rewrite.apply(image.attr("src")));
+            }
+        }
+        document.outputSettings().prettyPrint(false);
+        return document.body().html();
+    }
+
+    private static boolean isExtracted(String src) {
+        return src.contains(".amazonaws.com/" + FOLDER + "/");
+    }
+
+    private InlineImage decode(String src) {
+        Matcher matcher = DATA_URI.matcher(src);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Inline image is not a base64 data URI");
+        }
+        String contentType = matcher.group(1).toLowerCase(Locale.ROOT);
+        String extension = EXTENSIONS.get(contentType);
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported inline image type: " + contentType);
+        }
+        String payload = matcher.group(3).trim();
+        // Checked before decoding, base64 is 4 characters per 3 bytes
+        if ((long) payload.length() * 3 / 4 > maxBytes) {
+            throw new IllegalArgumentException("Inline image exceeds " + maxBytes + " bytes");
+        }
+        try {
+            return new InlineImage(Base64.getMimeDecoder().decode(payload), contentType, extension);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Inline image is not valid base64");
+        }
+    }
+
+    private Upload upload(InlineImage image) {
+        MediaMetadata metadata = imageMetadataExtractor.extract(
+                new ByteArrayInputStream(image.content), image.contentType, image.content.length);
+        String url = mediaService.uploadBytes(image.content, image.contentType, FOLDER, "inline." + image.extension);
+        return new Upload(url, metadata.getWidth(), metadata.getHeight());
+    }
+
+    private static final class InlineImage {
+        private final byte[] content;
+        private final String contentType;
+        private final String extension;
+
+        private InlineImage(byte[] content, String contentType, String extension) {
+            this.content = content;
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+    }
+
+    private static final class Upload {
+        private final String url;
+        private final Integer width;
+        private final Integer height;
+
+        private Upload(String url, Integer width, Integer height) {
+            this.url = url;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.berkay.portfolio.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -10,22 +14,46 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 import javax.crypto.SecretKey;
 
 @Service
 public class JwtService {
 
+    static final String AUTHORITIES_CLAIM = "auth";
+    static final String CREDENTIAL_VERSION_CLAIM = "cv";
+
     @Value("${jwt.secret:mySecretKey123456789012345678901234567890}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
 
-    private SecretKey getSigningKey() {
+    @Value("${jwt.verified-token-cache-size:10000}")
+    private int verifiedTokenCacheSize;
+
+    // Key and parser are immutable and thread-safe, so they are built once instead of per parse
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    // Tokens whose signature has already been checked, until they expire
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        signingKey = buildSigningKey();
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    private SecretKey buildSigningKey() {
         // Ensure the secret is at least 256 bits (32 bytes) for HS256
         byte[] keyBytes = secret.getBytes();
         if (keyBytes.length < 32) {
@@ -37,6 +65,62 @@ public class JwtService {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    /**
+     * Verifies the token signature and expiry, parsing it only the first time it is seen.
+     * @return the verified token, or null if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.getExpiresAt() > now) {
+                return cached;
+            }
+            verifiedTokens.remove(token);
+            return null;
+        }
+
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getExpiration() == null || claims.getExpiration().getTime() <= now) {
+            return null;
+        }
+
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                extractAuthorities(claims),
+                claims.get(CREDENTIAL_VERSION_CLAIM, String.class),
+                claims.getExpiration().getTime());
+        if (verifiedTokens.size() >= verifiedTokenCacheSize) {
+            evictVerifiedTokens(now);
+        }
+        verifiedTokens.put(token, verified);
+        return verified;
+    }
+
+    private void evictVerifiedTokens(long now) {
+        verifiedTokens.values().removeIf(verified -> verified.getExpiresAt() <= now);
+        if (verifiedTokens.size() >= verifiedTokenCacheSize) {
+            // Still full of live tokens (e.g. a flood of fresh logins): start over rather than grow unbounded
+            verifiedTokens.clear();
+        }
+    }
+
+    private List<String> extractAuthorities(Claims claims) {
+        List<String> authorities = new ArrayList<>();
+        Object claim = claims.get(AUTHORITIES_CLAIM);
+        if (claim instanceof Collection<?> values) {
+            for (Object value : values) {
+                authorities.add(String.valueOf(value));
+            }
+        }
+        return authorities;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -51,19 +135,19 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    public String generateToken(String username) {
+    /**
+     * Issues a self-contained token: subject, authorities and credential version are all the
+     * authentication filter needs, so verifying it never touches the database.
+     */
+    public String generateToken(String username, String credentialVersion, Collection<String> authorities) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, new ArrayList<>(authorities));
+        claims.put(CREDENTIAL_VERSION_CLAIM, credentialVersion);
         return createToken(claims, username);
     }
 
@@ -73,12 +157,12 @@ public class JwtService {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        VerifiedToken verified = verify(token);
+        return verified != null && verified.getUsername().equals(userDetails.getUsername());
     }
 }
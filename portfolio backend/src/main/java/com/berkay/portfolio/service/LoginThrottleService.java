@@ -0,0 +1,260 @@
+package com.berkay.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Token-bucket throttling for /api/auth/login, keyed by client IP and by username, so a
+ * credential-stuffing burst is rejected before it reaches the (deliberately slow) BCrypt check.
+ * Repeated failures lock a key out for an exponentially growing period.
+ *
+ * Buckets live in striped maps and are updated with CAS on immutable state, so the check itself
+ * never blocks. Idle buckets are evicted and each stripe is capped, which bounds memory under
+ * attacks rotating through many IPs or usernames.
+ */
+@Service
+public class LoginThrottleService {
+
+    private static final int STRIPES = 16;
+
+    @Value("${login.throttle.capacity:5}")
+    private int capacity;
+
+    @Value("${login.throttle.refill-per-minute:5}")
+    private double refillPerMinute;
+
+    @Value("${login.throttle.lockout-threshold:5}")
+    private int lockoutThreshold;
+
+    @Value("${login.throttle.base-lockout-seconds:30}")
+    private long baseLockoutSeconds;
+
+    @Value("${login.throttle.max-lockout-seconds:900}")
+    private long maxLockoutSeconds;
+
+    @Value("${login.throttle.idle-eviction-seconds:1800}")
+    private long idleEvictionSeconds;
+
+    @Value("${login.throttle.max-buckets-per-stripe:2048}")
+    private int maxBucketsPerStripe;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Clock origin so timestamps are non-negative and 0 can mean "not locked"
+    private final long epochNanos = System.nanoTime();
+
+    @SuppressWarnings("unchecked")
+    private final Map<String, AtomicReference<BucketState>>[] stripes = new Map[STRIPES];
+
+    private Counter rateLimitedCounter;
+    private Counter lockedOutCounter;
+    private Counter failureCounter;
+
+    public LoginThrottleService() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        rateLimitedCounter = Counter.builder("auth.login.rejected")
+                .tag("reason", "rate-limited")
+                .description("Login attempts rejected before authentication")
+                .register(meterRegistry);
+        lockedOutCounter = Counter.builder("auth.login.rejected")
+                .tag("reason", "locked-out")
+                .description("Login attempts rejected before authentication")
+                .register(meterRegistry);
+        failureCounter = Counter.builder("auth.login.failures")
+                .description("Login attempts that reached authentication and failed")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.buckets", this, LoginThrottleService::bucketCount)
+                .description("Login throttle buckets currently held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one attempt from both the IP and the username bucket.
+     * @return 0 if the attempt may proceed, otherwise the number of seconds to wait
+     */
+    public long tryAcquire(String clientIp, String username) {
+        long now = now();
+        long ipWait = tryAcquire(ipKey(clientIp), now);
+        long userWait = ipWait == 0 ? tryAcquire(userKey(username), now) : 0;
+        long waitNanos = Math.max(ipWait, userWait);
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos));
+    }
+
+    public void recordFailure(String clientIp, String username) {
+        failureCounter.increment();
+        long now = now();
+        update(ipKey(clientIp), now, state -> state.failed(now));
+        update(userKey(username), now, state -> state.failed(now));
+    }
+
+    public void recordSuccess(String clientIp, String username) {
+        long now = now();
+        update(ipKey(clientIp), now, state -> state.succeeded(now));
+        update(userKey(username), now, state -> state.succeeded(now));
+    }
+
+    private long tryAcquire(String key, long now) {
+        AtomicReference<BucketState> bucket = bucket(key, now);
+        while (true) {
+            BucketState current = bucket.get();
+            if (current.lockedUntil > now) {
+                lockedOutCounter.increment();
+                return current.lockedUntil - now;
+            }
+            BucketState refilled = current.refill(now);
+            if (refilled.tokens < 1) {
+                rateLimitedCounter.increment();
+                return (long) ((1 - refilled.tokens) / refillPerNano());
+            }
+            BucketState next = refilled.consume(now);
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void update(String key, long now, UnaryOperator<BucketState> change) {
+        AtomicReference<BucketState> bucket = bucket(key, now);
+        while (true) {
+            BucketState current = bucket.get();
+            if (bucket.compareAndSet(current, change.apply(current))) {
+                return;
+            }
+        }
+    }
+
+    private AtomicReference<BucketState> bucket(String key, long now) {
+        Map<String, AtomicReference<BucketState>> stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        AtomicReference<BucketState> bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxBucketsPerStripe) {
+            evict(stripe, now);
+        }
+        return stripe.computeIfAbsent(key, ignored -> new AtomicReference<>(new BucketState(capacity, now, 0, 0, now)));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleBuckets() {
+        long now = now();
+        for (Map<String, AtomicReference<BucketState>> stripe : stripes) {
+            stripe.values().removeIf(bucket -> isIdle(bucket.get(), now));
+        }
+    }
+
+    private void evict(Map<String, AtomicReference<BucketState>> stripe, long now) {
+        stripe.values().removeIf(bucket -> isIdle(bucket.get(), now));
+        if (stripe.size() < maxBucketsPerStripe) {
+            return;
+        }
+        // Under a wide attack nothing is idle yet: drop the least recently seen unlocked buckets
+        List<Map.Entry<String, AtomicReference<BucketState>>> candidates = new ArrayList<>();
+        for (Map.Entry<String, AtomicReference<BucketState>> entry : stripe.entrySet()) {
+            if (entry.getValue().get().lockedUntil <= now) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(entry -> entry.getValue().get().lastSeen));
+        int toRemove = Math.min(candidates.size(), stripe.size() - maxBucketsPerStripe * 3 / 4);
+        for (int i = 0; i < toRemove; i++) {
+            stripe.remove(candidates.get(i).getKey());
+        }
+    }
+
+    private boolean isIdle(BucketState state, long now) {
+        return state.lockedUntil <= now && now - state.lastSeen > TimeUnit.SECONDS.toNanos(idleEvictionSeconds);
+    }
+
+    private double bucketCount() {
+        long count = 0;
+        for (Map<String, AtomicReference<BucketState>> stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    private long now() {
+        return System.nanoTime() - epochNanos;
+    }
+
+    private double refillPerNano() {
+        return refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+    }
+
+    private String ipKey(String clientIp) {
+        return "ip:" + (clientIp == null ? "unknown" : clientIp);
+    }
+
+    private String userKey(String username) {
+        return "user:" + (username == null ? "" : username.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Immutable bucket state, replaced atomically on every change.
+     */
+    private final class BucketState {
+        private final double tokens;
+        private final long refilledAt;
+        private final int failures;
+        private final long lockedUntil;
+        private final long lastSeen;
+
+        private BucketState(double tokens, long refilledAt, int failures, long lockedUntil, long lastSeen) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+            this.failures = failures;
+            this.lockedUntil = lockedUntil;
+            this.lastSeen = lastSeen;
+        }
+
+        private BucketState refill(long now) {
+            double refilled = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano());
+            return new BucketState(refilled, now, failures, lockedUntil, lastSeen);
+        }
+
+        private BucketState consume(long now) {
+            return new BucketState(tokens - 1, refilledAt, failures, lockedUntil, now);
+        }
+
+        private BucketState failed(long now) {
+            int failed = failures + 1;
+            long locked = lockedUntil;
+            if (failed >= lockoutThreshold) {
+                // 1x, 2x, 4x ... the base lockout, capped
+                int exponent = Math.min(failed - lockoutThreshold, 30);
+                long lockoutSeconds = Math.min(maxLockoutSeconds, baseLockoutSeconds << exponent);
+                locked = now + TimeUnit.SECONDS.toNanos(lockoutSeconds);
+            }
+            return new BucketState(tokens, refilledAt, failed, locked, now);
+        }
+
+        private BucketState succeeded(long now) {
+            return new BucketState(tokens, refilledAt, 0, 0, now);
+        }
+    }
+}
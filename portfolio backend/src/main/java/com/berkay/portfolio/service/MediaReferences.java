@@ -0,0 +1,145 @@
+package com.berkay.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import com.berkay.portfolio.model.JobHistory;
+import com.berkay.portfolio.model.MediaMetadata;
+import com.berkay.portfolio.model.PersonalInfo;
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Knows which fields of each portfolio document reference media in S3, so code working on
+ * documents of any collection can find, carry over and rewrite those references.
+ */
+public final class MediaReferences {
+
+    // Fields holding a media reference, by document type
+    private static final Map<Class<?>, Set<String>> FIELDS = Map.of(
+            Projects.class, Set.of("projectContent"),
+            ProjectDetailContent.class, Set.of("projectDetailContent"),
+            JobHistory.class, Set.of("companyLogo"),
+            PersonalInfo.class, Set.of("profilePicture", "resume"));
+
+    private MediaReferences() {
+    }
+
+    /**
+     * Whether the field may hold a media reference; for detail content, depending on its type.
+     */
+    public static boolean isMediaField(Class<?> type, String field) {
+        return FIELDS.getOrDefault(type, Set.of()).contains(field);
+    }
+
+    /**
+     * Media referenced by the document, with the metadata stored next to each reference.
+     */
+    public static List<Reference> of(Object document) {
+        List<Reference> references = new ArrayList<>();
+        if (document instanceof Projects project) {
+            add(references, project.getProjectContent(), project.getProjectContentMetadata());
+        } else if (document instanceof ProjectDetailContent content) {
+            if (content.getProjectDetailContentType() != ProjectDetailContent.ProjectDetailContentType.TEXT) {
+                add(references, content.getProjectDetailContent(), content.getProjectDetailContentMetadata());
+            } else {
+                // Images moved out of the rich text on save
+                InlineMediaExtractor.references(content.getProjectDetailContent()).forEach(url -> add(references, url, null));
+            }
+        } else if (document instanceof JobHistory jobHistory) {
+            add(references, jobHistory.getCompanyLogo(), jobHistory.getCompanyLogoMetadata());
+        } else if (document instanceof PersonalInfo personalInfo) {
+            add(references, personalInfo.getProfilePicture(), personalInfo.getProfilePictureMetadata());
+            add(references, personalInfo.getResume(), null);
+        }
+        return references;
+    }
+
+    /**
+     * Keeps the stored metadata when the incoming document references the same media without it,
+     * as clients send documents back without the server-computed metadata.
+     */
+    public static void carryOverMetadata(Object current, Object incoming) {
+        if (current instanceof Projects stored && incoming instanceof Projects project) {
+            if (project.getProjectContentMetadata() == null
+                    && Objects.equals(project.getProjectContent(), stored.getProjectContent())) {
+                project.setProjectContentMetadata(stored.getProjectContentMetadata());
+            }
+        } else if (current instanceof ProjectDetailContent stored && incoming instanceof ProjectDetailContent content) {
+            if (content.getProjectDetailContentMetadata() == null
+                    && Objects.equals(content.getProjectDetailContent(), stored.getProjectDetailContent())) {
+                content.setProjectDetailContentMetadata(stored.getProjectDetailContentMetadata());
+            }
+        } else if (current instanceof JobHistory stored && incoming instanceof JobHistory jobHistory) {
+            if (jobHistory.getCompanyLogoMetadata() == null
+                    && Objects.equals(jobHistory.getCompanyLogo(), stored.getCompanyLogo())) {
+                jobHistory.setCompanyLogoMetadata(stored.getCompanyLogoMetadata());
+            }
+        } else if (current instanceof PersonalInfo stored && incoming instanceof PersonalInfo personalInfo) {
+            if (personalInfo.getProfilePictureMetadata() == null
+                    && Objects.equals(personalInfo.getProfilePicture(), stored.getProfilePicture())) {
+                personalInfo.setProfilePictureMetadata(stored.getProfilePictureMetadata());
+            }
+        }
+    }
+
+    /**
+     * Replaces every media reference of the document with the rewritten one.
+     */
+    public static void rewrite(Object document, UnaryOperator<String> rewrite) {
+        if (document instanceof Projects project) {
+            project.setProjectContent(apply(project.getProjectContent(), rewrite));
+        } else if (document instanceof ProjectDetailContent content) {
+            if (content.getProjectDetailContentType() != ProjectDetailContent.ProjectDetailContentType.TEXT) {
+                content.setProjectDetailContent(apply(content.getProjectDetailContent(), rewrite));
+            } else {
+                content.setProjectDetailContent(InlineMediaExtractor.rewrite(content.getProjectDetailContent(), rewrite));
+            }
+        } else if (document instanceof JobHistory jobHistory) {
+            jobHistory.setCompanyLogo(apply(jobHistory.getCompanyLogo(), rewrite));
+        } else if (document instanceof PersonalInfo personalInfo) {
+            personalInfo.setProfilePicture(apply(personalInfo.getProfilePicture(), rewrite));
+            personalInfo.setResume(apply(personalInfo.getResume(), rewrite));
+        }
+    }
+
+    /**
+     * Media the current document references and the updated one no longer does.
+     */
+    public static List<String> removed(Object current, Object updated) {
+        Set<String> kept = new HashSet<>();
+        of(updated).forEach(reference -> kept.add(reference.getUrl()));
+        List<String> removed = new ArrayList<>();
+        for (Reference reference : of(current)) {
+            if (!kept.contains(reference.getUrl())) {
+                removed.add(reference.getUrl());
+            }
+        }
+        return removed;
+    }
+
+    private static String apply(String url, UnaryOperator<String> rewrite) {
+        return url == null || url.isBlank() ? url : rewrite.apply(url);
+    }
+
+    private static void add(List<Reference> references, String url, MediaMetadata metadata) {
+        if (url != null && !url.isBlank()) {
+            references.add(new Reference(url, metadata));
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Reference {
+        private final String url;
+        private final MediaMetadata metadata;
+    }
+}
@@ -1,20 +1,49 @@
 package com.berkay.portfolio.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.berkay.portfolio.model.MediaMetadata;
+import com.berkay.portfolio.monitoring.MediaOperationEvent;
+import com.berkay.portfolio.monitoring.RequestTiming;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Error;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
@@ -22,9 +51,23 @@ import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequ
 @Service
 public class MediaService {
 
+    private static final Logger log = LoggerFactory.getLogger(MediaService.class);
+
+    // Maximum number of keys S3 accepts in one DeleteObjects request
+    private static final int DELETE_BATCH_SIZE = 1000;
+
     @Autowired
     private S3Client s3Client;
 
+    @Autowired
+    private ImageMetadataExtractor imageMetadataExtractor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${aws.s3.bucket-name}")
     private String bucketName;
 
@@ -37,18 +80,34 @@ public class MediaService {
     @Value("${aws.secret-access-key:}")
     private String secretAccessKey;
 
+    @Value("${aws.s3.endpoint:}")
+    private String endpoint;
+
     @Value("${aws.s3.presigned-url-expiration:3600}") // Default 1 hour
     private long presignedUrlExpirationSeconds;
 
+    private S3Presigner presigner;
+    private SingleFlight<String, String> presigns;
+
     /**
      * Uploads a file to S3 and returns the S3 key (not a public URL)
      * The key should be stored in the database, and presigned URLs should be generated when needed
      */
     public String uploadFile(MultipartFile file, String folder) {
-        try {
-            String fileName = generateFileName(file.getOriginalFilename());
-            String key = folder + "/" + fileName;
+        return uploadMedia(file, folder).getUrl();
+    }
 
+    /**
+     * Uploads a file to S3 and extracts its metadata (content type, size and, for images,
+     * dimensions and a BlurHash placeholder) so it can be stored next to the media reference
+     */
+    public UploadedMedia uploadMedia(MultipartFile file, String folder) {
+        String key = folder + "/" + generateFileName(file.getOriginalFilename());
+        return timed("upload", key, file.getSize(), () -> doUploadMedia(file, key));
+    }
+
+    private UploadedMedia doUploadMedia(MultipartFile file, String key) {
+        try {
             PutObjectRequest putObjectRequest = PutObjectRequest.builder()
                     .bucket(bucketName)
                     .key(key)
@@ -60,19 +119,140 @@ public class MediaService {
 
             // Return the S3 key instead of public URL
             // Format: folder/filename (e.g., "profile-pictures/uuid_filename.jpg")
-            key = "https://" + bucketName + ".s3.amazonaws.com/" + key;
-            return key;
+            String url = urlFor(key);
+
+            // Multipart files can be re-read, so metadata is extracted from a second stream
+            MediaMetadata metadata;
+            try (InputStream input = file.getInputStream()) {
+                metadata = imageMetadataExtractor.extract(input, file.getContentType(), file.getSize());
+            }
+
+            // Videos get a poster frame in the background; the multipart file is gone once
+            // the request ends, so the worker gets its own copy
+            if (file.getContentType() != null && file.getContentType().startsWith("video/")) {
+                spoolVideoForPoster(file, url);
+            }
+            return new UploadedMedia(url, metadata);
         } catch (IOException e) {
             throw new RuntimeException("Failed to upload file", e);
         }
     }
 
+    private void spoolVideoForPoster(MultipartFile file, String url) {
+        Path spooledVideo = null;
+        try {
+            spooledVideo = Files.createTempFile("video-upload-", ".tmp");
+            try (InputStream input = file.getInputStream()) {
+                Files.copy(input, spooledVideo, StandardCopyOption.REPLACE_EXISTING);
+            }
+            eventPublisher.publishEvent(new VideoUploadedEvent(url, spooledVideo));
+        } catch (IOException e) {
+            // The upload already succeeded, the video just will not get a poster
+            log.warn("Failed to spool video for poster extraction: {}", e.getMessage());
+            if (spooledVideo != null) {
+                spooledVideo.toFile().delete();
+            }
+        }
+    }
+
+    /**
+     * Uploads generated content (e.g. a video poster) and returns its media reference
+     */
+    public String uploadBytes(byte[] content, String contentType, String folder, String originalFileName) {
+        String key = folder + "/" + generateFileName(originalFileName);
+        return timed("upload", key, content.length, () -> doUploadBytes(content, contentType, key));
+    }
+
+    private String doUploadBytes(byte[] content, String contentType, String key) {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .contentType(contentType)
+                .build();
+
+        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(content));
+        return urlFor(key);
+    }
+
+    /**
+     * Stores a file under the given key as-is (e.g. when restoring an export) and returns its media reference
+     */
+    public String restoreObject(String key, Path file, String contentType) {
+        try {
+            long size = Files.size(file);
+            return timed("upload", key, size, () -> {
+                PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                        .bucket(bucketName)
+                        .key(key)
+                        .contentType(contentType)
+                        .build();
+                s3Client.putObject(putObjectRequest, RequestBody.fromFile(file));
+                return urlFor(key);
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to restore file", e);
+        }
+    }
+
+    /**
+     * Opens a stored object for reading; the caller must close the stream
+     * @throws NoSuchKeyException if the object does not exist
+     */
+    public InputStream openObject(String fileUrlOrKey) {
+        String key = extractKeyFromUrlOrKey(fileUrlOrKey);
+        return timed("download", key, 0, () -> s3Client.getObject(GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(key)
+                .build()));
+    }
+
+    /**
+     * Media reference for a key in the configured bucket
+     */
+    public String urlFor(String key) {
+        return "https://" + bucketName + ".s3.amazonaws.com/" + key;
+    }
+
+    /**
+     * S3 key of a bucket reference, the inverse of {@link #urlFor(String)}
+     */
+    public String keyOf(String fileUrlOrKey) {
+        return extractKeyFromUrlOrKey(fileUrlOrKey);
+    }
+
+    /**
+     * Whether the value is an S3 key or a URL into an S3 bucket, as opposed to an external link
+     */
+    public boolean isBucketReference(String fileUrlOrKey) {
+        if (!fileUrlOrKey.startsWith("http://") && !fileUrlOrKey.startsWith("https://")) {
+            return true;
+        }
+        try {
+            String host = URI.create(fileUrlOrKey).getHost();
+            return host != null && host.endsWith(".amazonaws.com") && host.contains(".s3");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Points a media reference from any bucket at the same key in the configured bucket
+     */
+    public String rebase(String fileUrlOrKey) {
+        return isBucketReference(fileUrlOrKey) ? urlFor(extractKeyFromUrlOrKey(fileUrlOrKey)) : fileUrlOrKey;
+    }
+
     /**
      * Generates a presigned URL for accessing a private S3 object
      * @param s3Key The S3 key (e.g., "profile-pictures/uuid_filename.jpg")
      * @return Presigned URL that expires after configured time
      */
     public String getPresignedUrl(String s3Key) {
+        // Concurrent requests for the same media share one signature
+        return presigns.execute(s3Key, () -> timed("presign", s3Key, 0, () -> doGetPresignedUrl(s3Key)));
+    }
+
+    private String doGetPresignedUrl(String s3Key) {
         try {
             // If the key is already a full URL, extract just the key
             String key = extractKeyFromUrlOrKey(s3Key);
@@ -82,9 +262,6 @@ public class MediaService {
                     .key(key)
                     .build();
 
-            // Create presigner with same credentials as S3Client
-            S3Presigner presigner = createPresigner();
-
             PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(
                     GetObjectPresignRequest.builder()
                             .signatureDuration(Duration.ofSeconds(presignedUrlExpirationSeconds))
@@ -102,6 +279,13 @@ public class MediaService {
      * @param fileUrlOrKey Can be either a full S3 URL or just the S3 key
      */
     public void deleteFile(String fileUrlOrKey) {
+        timed("delete", fileUrlOrKey, 0, () -> {
+            doDeleteFile(fileUrlOrKey);
+            return null;
+        });
+    }
+
+    private void doDeleteFile(String fileUrlOrKey) {
         try {
             // Extract key from URL or use as-is if already a key
             String key = extractKeyFromUrlOrKey(fileUrlOrKey);
@@ -118,23 +302,117 @@ public class MediaService {
     }
 
     /**
-     * Creates an S3Presigner with the same credentials as S3Client
+     * Deletes many files with one DeleteObjects call per 1000 keys instead of one call per file
+     * @return the keys that could not be deleted
      */
-    private S3Presigner createPresigner() {
-        if (accessKeyId.isEmpty() || secretAccessKey.isEmpty()) {
-            // Use default credentials provider
-            return S3Presigner.builder()
-                    .region(software.amazon.awssdk.regions.Region.of(region))
-                    .build();
-        } else {
-            // Use explicit credentials
+    public List<String> deleteFiles(Collection<String> fileUrlsOrKeys) {
+        List<String> keys = fileUrlsOrKeys.stream()
+                .map(this::extractKeyFromUrlOrKey)
+                .distinct()
+                .toList();
+        List<String> failed = new ArrayList<>();
+        for (int from = 0; from < keys.size(); from += DELETE_BATCH_SIZE) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + DELETE_BATCH_SIZE));
+            try {
+                failed.addAll(timed("delete-batch", batch.get(0), 0, () -> doDeleteFiles(batch)));
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete {} files: {}", batch.size(), e.getMessage());
+                failed.addAll(batch);
+            }
+        }
+        return failed;
+    }
+
+    private List<String> doDeleteFiles(List<String> keys) {
+        List<ObjectIdentifier> objects = keys.stream()
+                .map(key -> ObjectIdentifier.builder().key(key).build())
+                .toList();
+        DeleteObjectsRequest deleteObjectsRequest = DeleteObjectsRequest.builder()
+                .bucket(bucketName)
+                // Quiet mode only reports the keys that failed
+                .delete(Delete.builder().objects(objects).quiet(true).build())
+                .build();
+
+        DeleteObjectsResponse response = s3Client.deleteObjects(deleteObjectsRequest);
+        return response.errors().stream().map(S3Error::key).toList();
+    }
+
+    /**
+     * Deletes a media file together with the files derived from it (e.g. a video poster)
+     */
+    public void deleteMedia(String fileUrlOrKey, MediaMetadata metadata) {
+        deleteFile(fileUrlOrKey);
+        if (metadata != null && metadata.getPosterKey() != null) {
+            deleteFile(metadata.getPosterKey());
+        }
+    }
+
+    private <T> T timed(String operation, String key, long bytes, Supplier<T> action) {
+        MediaOperationEvent event = new MediaOperationEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            T result = action.get();
+            if (bytes > 0) {
+                recordBytes(operation, bytes);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.key = key;
+                event.bytes = bytes;
+                event.failed = "error".equals(outcome);
+                event.commit();
+            }
+            long elapsedNanos = sample.stop(Timer.builder("media.operations")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .description("Latency of MediaService calls")
+                    .register(meterRegistry));
+            RequestTiming.record(RequestTiming.Phase.S3, elapsedNanos);
+        }
+    }
+
+    private void recordBytes(String direction, long bytes) {
+        Counter.builder("media.bytes")
+                .tag("direction", direction)
+                .baseUnit("bytes")
+                .description("Bytes transferred to and from S3 by MediaService")
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    /**
+     * Creates the S3Presigner with the same credentials as S3Client. Built once, it holds the
+     * resolved credentials and endpoint and is safe to share between threads.
+     */
+    @PostConstruct
+    void createPresigner() {
+        S3Presigner.Builder builder = S3Presigner.builder()
+                .region(software.amazon.awssdk.regions.Region.of(region));
+        if (!accessKeyId.isEmpty() && !secretAccessKey.isEmpty()) {
+            // Use explicit credentials, otherwise the default credentials provider
             software.amazon.awssdk.auth.credentials.AwsBasicCredentials awsCredentials = 
                 software.amazon.awssdk.auth.credentials.AwsBasicCredentials.create(accessKeyId, secretAccessKey);
-            return S3Presigner.builder()
-                    .region(software.amazon.awssdk.regions.Region.of(region))
-                    .credentialsProvider(software.amazon.awssdk.auth.credentials.StaticCredentialsProvider.create(awsCredentials))
-                    .build();
+            builder.credentialsProvider(software.amazon.awssdk.auth.credentials.StaticCredentialsProvider.create(awsCredentials));
         }
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        presigner = builder.build();
+        presigns = new SingleFlight<>("presign", meterRegistry);
+    }
+
+    @PreDestroy
+    void closePresigner() {
+        presigner.close();
     }
 
     private String generateFileName(String originalFileName) {
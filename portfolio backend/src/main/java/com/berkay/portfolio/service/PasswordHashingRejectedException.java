@@ -0,0 +1,11 @@
+package com.berkay.portfolio.service;
+
+/**
+ * Thrown when the password hashing executor is saturated and a hash was not attempted.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
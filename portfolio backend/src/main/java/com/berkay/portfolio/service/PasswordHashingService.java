@@ -0,0 +1,151 @@
+package com.berkay.portfolio.service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs BCrypt work (login verification and password encoding) on a small dedicated executor,
+ * so slow hashes never occupy the Tomcat threads that serve public reads. The queue is bounded
+ * and tasks that waited too long are dropped, so a burst fails fast instead of piling up.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${password-hashing.threads:0}") // 0 = half the available cores
+    private int threads;
+
+    @Value("${password-hashing.queue-capacity:16}")
+    private int queueCapacity;
+
+    @Value("${password-hashing.queue-timeout-ms:2000}")
+    private long queueTimeoutMillis;
+
+    private ThreadPoolExecutor executor;
+    private Timer queueWaitTimer;
+    private Counter rejectedCounter;
+    // Operation -> timer, registered once
+    private final Map<String, Timer> hashTimers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        queueWaitTimer = Timer.builder("auth.password.hashing.queue.wait")
+                .description("Time password hashing tasks spent waiting for a thread")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("auth.password.hashing.rejected")
+                .description("Password hashing tasks rejected because the executor was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Runs a task that performs password hashing (e.g. AuthenticationManager.authenticate) on the hashing executor.
+     * The future fails with {@link PasswordHashingRejectedException} when the executor is saturated.
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Timer hashTimer = hashTimers.computeIfAbsent(operation, name -> Timer.builder("auth.password.hashing")
+                .tag("operation", name)
+                .description("Latency of password hashing work on the dedicated executor")
+                .register(meterRegistry));
+        long enqueuedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                long waitedNanos = System.nanoTime() - enqueuedAt;
+                queueWaitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+                if (waitedNanos > TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis)) {
+                    // The caller is likely gone or about to give up; don't burn CPU on it
+                    rejectedCounter.increment();
+                    result.completeExceptionally(new PasswordHashingRejectedException("Password hashing queue timeout"));
+                    return;
+                }
+                long startedAt = System.nanoTime();
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            result.completeExceptionally(new PasswordHashingRejectedException("Password hashing executor is saturated"));
+        }
+        return result;
+    }
+
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Blocking variant for callers outside the request path (e.g. startup).
+     */
+    public String encode(CharSequence rawPassword) {
+        try {
+            return encodeAsync(rawPassword).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Unwraps the CompletionException layers added by CompletableFuture stages.
+     */
+    public static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,201 @@
+package com.berkay.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+import com.berkay.portfolio.model.Versioned;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Applies partial updates as a single findAndModify carrying only the changed fields
+ * ($set, or $unset for null), guarded by the expected version so concurrent edits fail
+ * with a {@link VersionConflictException} instead of overwriting each other. Media a patch
+ * replaces or clears is deleted afterwards, like the with-media updates do.
+ */
+@Service
+public class PatchService {
+
+    private static final String VERSION = "version";
+    private static final String METADATA_SUFFIX = "Metadata";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private RichTextProcessor richTextProcessor;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private InlineMediaExtractor inlineMediaExtractor;
+
+    /**
+     * @param expectedVersion the version the client last saw, null to skip the check (If-Match: *)
+     * @param changes JSON field names mapped to their new values
+     * @return the updated document, or empty if there is no document with this id
+     * @throws IllegalArgumentException if a field is unknown, read-only or gets an invalid value
+     */
+    public <T extends Versioned> Optional<T> patch(Class<T> type, String id, Long expectedVersion, Map<String, Object> changes) {
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+
+        // Let Jackson convert the values exactly like a full request body (dates, enums)
+        T values = objectMapper.convertValue(changes, type);
+        PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(values);
+
+        // Changed media and rich text are compared with, and cleaned up after, the stored document
+        boolean richText = values instanceof ProjectDetailContent
+                && (changes.containsKey(RichTextProcessor.CONTENT_FIELD) || changes.containsKey("projectDetailContentType"));
+        T stored = null;
+        if (richText || changes.keySet().stream().anyMatch(field -> MediaReferences.isMediaField(type, field))) {
+            stored = mongoTemplate.findById(id, type);
+            if (stored == null) {
+                return Optional.empty();
+            }
+        }
+
+        Update update = new Update();
+        List<String> errors = new ArrayList<>();
+        for (String field : changes.keySet()) {
+            MongoPersistentProperty property = entity.getPersistentProperty(field);
+            if (property == null || property.isIdProperty() || VERSION.equals(field) || field.endsWith(METADATA_SUFFIX)
+                    || TechnologyTags.FIELD.equals(field) || RichTextProcessor.SUMMARY_FIELD.equals(field)) {
+                errors.add(field + ": cannot be updated");
+                continue;
+            }
+            Object value = accessor.getProperty(property);
+            if (MediaReferences.isMediaField(type, field)
+                    && Objects.equals(value, entity.getPropertyAccessor(stored).getProperty(property))) {
+                // Same media sent back: keep its metadata, and there is nothing to delete
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validateValue(type, field, value);
+            for (ConstraintViolation<T> violation : violations) {
+                errors.add(field + ": " + violation.getMessage());
+            }
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+            // Tags are derived from the technologies string, keep them in step
+            if (values instanceof Projects && "projectTechnologies".equals(field)) {
+                update.set(TechnologyTags.FIELD, TechnologyTags.parse((String) value));
+            }
+            // Metadata describes the previous media, a new reference makes it stale
+            MongoPersistentProperty metadata = entity.getPersistentProperty(field + METADATA_SUFFIX);
+            if (metadata != null && !changes.containsKey(metadata.getName())) {
+                update.unset(metadata.getName());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join(", ", errors));
+        }
+        ProjectDetailContent processed = null;
+        if (richText) {
+            processed = processRichText((ProjectDetailContent) stored, (ProjectDetailContent) values, changes, update);
+        }
+        update.inc(VERSION, 1);
+
+        T updated = mongoTemplate.findAndModify(Query.query(Versions.matching(id, expectedVersion)), update,
+                FindAndModifyOptions.options().returnNew(true), type);
+        if (updated == null) {
+            if (processed != null) {
+                // Nothing was written, so images uploaded for the content belong to no document
+                mediaService.deleteFiles(inlineMediaExtractor.unshared(MediaReferences.removed(processed, stored)));
+            }
+            T current = mongoTemplate.findById(id, type);
+            if (current == null) {
+                return Optional.empty();
+            }
+            throw new VersionConflictException("Document was modified by another request", Versions.current(current));
+        }
+        eventPublisher.publishEvent(new PortfolioChangedEvent(mongoTemplate.getCollectionName(type), List.of(id)));
+        if (stored != null) {
+            deleteRemovedMedia(stored, updated);
+        }
+        return Optional.of(updated);
+    }
+
+    /**
+     * Deletes the media the stored document referenced and the updated one no longer does, with
+     * their video posters, unless another document still shows it.
+     */
+    public void deleteRemovedMedia(Object stored, Object updated) {
+        Set<String> kept = new HashSet<>();
+        MediaReferences.of(updated).forEach(reference -> kept.add(reference.getUrl()));
+        List<String> media = new ArrayList<>();
+        for (MediaReferences.Reference reference : MediaReferences.of(stored)) {
+            // External links are not ours to delete
+            if (kept.contains(reference.getUrl()) || !mediaService.isBucketReference(reference.getUrl())) {
+                continue;
+            }
+            media.add(reference.getUrl());
+            if (reference.getMetadata() != null && reference.getMetadata().getPosterKey() != null) {
+                media.add(reference.getMetadata().getPosterKey());
+            }
+        }
+        if (!media.isEmpty()) {
+            mediaService.deleteFiles(inlineMediaExtractor.unshared(media));
+        }
+    }
+
+    /**
+     * Runs the rich-text pipeline over the content the patch results in, which may combine
+     * a changed field with one stored unchanged.
+     * @return the content as it will be stored
+     */
+    private ProjectDetailContent processRichText(ProjectDetailContent current, ProjectDetailContent patched,
+            Map<String, Object> changes, Update update) {
+        ProjectDetailContent result = current.toBuilder().build();
+        if (changes.containsKey(RichTextProcessor.CONTENT_FIELD)) {
+            result.setProjectDetailContent(patched.getProjectDetailContent());
+        }
+        if (changes.containsKey("projectDetailContentType")) {
+            result.setProjectDetailContentType(patched.getProjectDetailContentType());
+        }
+        richTextProcessor.process(result, current);
+        if (result.getProjectDetailContent() != null) {
+            update.set(RichTextProcessor.CONTENT_FIELD, result.getProjectDetailContent());
+        }
+        if (result.getProjectDetailContentSummary() != null) {
+            update.set(RichTextProcessor.SUMMARY_FIELD, result.getProjectDetailContentSummary());
+        } else {
+            update.unset(RichTextProcessor.SUMMARY_FIELD);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,387 @@
+package com.berkay.portfolio.service;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.berkay.portfolio.model.ArchiveImportResult;
+import com.berkay.portfolio.model.EducationHistory;
+import com.berkay.portfolio.model.JobHistory;
+import com.berkay.portfolio.model.PersonalInfo;
+import com.berkay.portfolio.model.ProfessionalSkills;
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoCursor;
+
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+/**
+ * Exports the whole portfolio into one ZIP archive and imports it again:
+ * collections/{collection}.ndjson with one Extended JSON document per line, media/{key} with the
+ * bytes of every S3 object the documents reference, and manifest.json with counts.
+ *
+ * Both directions stream: documents come straight from the Mongo cursor and media straight
+ * from S3, so memory does not grow with the size of the portfolio.
+ */
+@Service
+public class PortfolioArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioArchiveService.class);
+
+    private static final String COLLECTIONS_FOLDER = "collections/";
+    private static final String MEDIA_FOLDER = "media/";
+    private static final String DOCUMENTS_EXTENSION = ".ndjson";
+    private static final String MANIFEST = "manifest.json";
+
+    // Admin credentials are deliberately not part of an export
+    private static final List<Class<?>> TYPES = List.of(PersonalInfo.class, Projects.class,
+            ProjectDetailContent.class, JobHistory.class, EducationHistory.class, ProfessionalSkills.class);
+
+    // Canonical Extended JSON keeps ObjectIds, dates and number types intact
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder()
+            .outputMode(JsonMode.EXTENDED)
+            .build();
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${archive.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${archive.import.upload-concurrency:4}")
+    private int uploadConcurrency;
+
+    // Uncompressed, over all entries
+    @Value("${archive.import.max-bytes:2147483648}")
+    private long maxBytes;
+
+    @Value("${archive.import.max-entries:10000}")
+    private int maxEntries;
+
+    public void export(OutputStream output) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(output);
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("exportedAt", Instant.now().toString());
+        Map<String, Integer> documentCounts = new LinkedHashMap<>();
+        Set<String> mediaKeys = new LinkedHashSet<>();
+
+        for (Class<?> type : TYPES) {
+            String collection = mongoTemplate.getCollectionName(type);
+            documentCounts.put(collection, exportCollection(zip, type, collection, mediaKeys));
+        }
+
+        List<String> missingMedia = new ArrayList<>();
+        for (String key : mediaKeys) {
+            // Open the object before the entry so a missing object leaves no empty entry behind
+            InputStream media;
+            try {
+                media = mediaService.openObject(key);
+            } catch (NoSuchKeyException e) {
+                missingMedia.add(key);
+                continue;
+            }
+            try (media) {
+                zip.putNextEntry(new ZipEntry(MEDIA_FOLDER + key));
+                media.transferTo(zip);
+                zip.closeEntry();
+            }
+        }
+
+        manifest.put("documents", documentCounts);
+        manifest.put("media", mediaKeys.size() - missingMedia.size());
+        manifest.put("missingMedia", missingMedia);
+        zip.putNextEntry(new ZipEntry(MANIFEST));
+        zip.write(objectMapper.writeValueAsBytes(manifest));
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+
+        if (!missingMedia.isEmpty()) {
+            log.warn("Exported portfolio without {} missing media objects", missingMedia.size());
+        }
+    }
+
+    private int exportCollection(ZipOutputStream zip, Class<?> type, String collection, Set<String> mediaKeys)
+            throws IOException {
+        zip.putNextEntry(new ZipEntry(COLLECTIONS_FOLDER + collection + DOCUMENTS_EXTENSION));
+        // Not closed: closing would close the archive
+        Writer writer = new OutputStreamWriter(zip, StandardCharsets.UTF_8);
+        int count = 0;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collection).find().batchSize(batchSize).cursor()) {
+            while (cursor.hasNext()) {
+                Document document = cursor.next();
+                writer.write(document.toJson(JSON_SETTINGS));
+                writer.write('\n');
+                count++;
+                for (MediaReferences.Reference reference : MediaReferences.of(mongoTemplate.getConverter().read(type, document))) {
+                    if (mediaService.isBucketReference(reference.getUrl())) {
+                        mediaKeys.add(mediaService.keyOf(reference.getUrl()));
+                    }
+                    if (reference.getMetadata() != null && reference.getMetadata().getPosterKey() != null) {
+                        mediaKeys.add(reference.getMetadata().getPosterKey());
+                    }
+                }
+            }
+        }
+        writer.flush();
+        zip.closeEntry();
+        return count;
+    }
+
+    /**
+     * Upserts every document of the archive by id, so importing the same archive twice is harmless,
+     * and uploads its media under the same keys into the configured bucket. Media references are
+     * rewritten to point at that bucket.
+     *
+     * @throws IOException also when the archive has more entries or uncompressed bytes than allowed
+     */
+    public ArchiveImportResult importArchive(InputStream input) throws IOException {
+        Map<String, Class<?>> typesByCollection = new HashMap<>();
+        for (Class<?> type : TYPES) {
+            typesByCollection.put(mongoTemplate.getCollectionName(type), type);
+        }
+
+        Map<String, Integer> documentCounts = new LinkedHashMap<>();
+        List<String> skippedEntries = new ArrayList<>();
+        // Content types recorded on the documents, which precede the media in the archive
+        Map<String, String> contentTypes = new HashMap<>();
+        AtomicInteger uploaded = new AtomicInteger();
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+
+        ExecutorService uploads = Executors.newFixedThreadPool(uploadConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "archive-import-upload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Bounds the spooled media waiting for an upload thread
+        Semaphore pending = new Semaphore(uploadConcurrency * 2);
+        // Spooled media no upload has started on yet, deleted here if the import stops early
+        Set<Path> queued = ConcurrentHashMap.newKeySet();
+        try {
+            ZipInputStream zip = new ZipInputStream(input);
+            InputStream limited = new LimitedInputStream(zip, maxBytes);
+            int entries = 0;
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (++entries > maxEntries) {
+                    throw new IOException("Archive has more than " + maxEntries + " entries");
+                }
+                String name = entry.getName();
+                if (entry.isDirectory() || MANIFEST.equals(name)) {
+                    continue;
+                }
+                if (name.startsWith(COLLECTIONS_FOLDER) && name.endsWith(DOCUMENTS_EXTENSION)) {
+                    String collection = name.substring(COLLECTIONS_FOLDER.length(), name.length() - DOCUMENTS_EXTENSION.length());
+                    Class<?> type = typesByCollection.get(collection);
+                    if (type == null) {
+                        skippedEntries.add(name);
+                        continue;
+                    }
+                    documentCounts.put(collection, importCollection(limited, type, collection, contentTypes));
+                } else if (name.startsWith(MEDIA_FOLDER) && isSafeKey(name.substring(MEDIA_FOLDER.length()))) {
+                    String key = name.substring(MEDIA_FOLDER.length());
+                    String contentType = contentTypes.computeIfAbsent(key, PortfolioArchiveService::guessContentType);
+                    pending.acquire();
+                    Path spooled = spool(limited, pending);
+                    queued.add(spooled);
+                    uploads.execute(() -> {
+                        queued.remove(spooled);
+                        try {
+                            mediaService.restoreObject(key, spooled, contentType);
+                            uploaded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            log.warn("Failed to restore media {}: {}", key, e.getMessage());
+                            failed.add(key);
+                        } finally {
+                            deleteQuietly(spooled);
+                            pending.release();
+                        }
+                    });
+                } else {
+                    skippedEntries.add(name);
+                }
+            }
+            uploads.shutdown();
+            uploads.awaitTermination(1, TimeUnit.HOURS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } finally {
+            uploads.shutdownNow();
+            queued.forEach(this::deleteQuietly);
+        }
+
+        return ArchiveImportResult.builder()
+                .documents(documentCounts)
+                .mediaUploaded(uploaded.get())
+                .mediaFailed(failed)
+                .skippedEntries(skippedEntries)
+                .build();
+    }
+
+    private <T> int importCollection(InputStream entry, Class<T> type, String collection,
+            Map<String, String> contentTypes) throws IOException {
+        // Not closed: closing would close the archive
+        BufferedReader reader = new BufferedReader(new InputStreamReader(entry, StandardCharsets.UTF_8));
+        List<T> batch = new ArrayList<>(batchSize);
+        List<String> ids = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            T document = mongoTemplate.getConverter().read(type, Document.parse(line));
+            for (MediaReferences.Reference reference : MediaReferences.of(document)) {
+                if (reference.getMetadata() != null && reference.getMetadata().getContentType() != null
+                        && mediaService.isBucketReference(reference.getUrl())) {
+                    contentTypes.put(mediaService.keyOf(reference.getUrl()),
+                            reference.getMetadata().getContentType());
+                }
+            }
+            MediaReferences.rewrite(document, mediaService::rebase);
+            batch.add(document);
+            if (batch.size() == batchSize) {
+                write(type, batch, ids);
+            }
+        }
+        write(type, batch, ids);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(collection, ids));
+        return ids.size();
+    }
+
+    private <T> void write(Class<T> type, List<T> batch, List<String> ids) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        for (T document : batch) {
+            String id = String.valueOf(entity.getIdentifierAccessor(document).getRequiredIdentifier());
+            bulk.replaceOne(Query.query(Criteria.where("_id").is(id)), document, FindAndReplaceOptions.options().upsert());
+            ids.add(id);
+        }
+        bulk.execute();
+        batch.clear();
+    }
+
+    private Path spool(InputStream entry, Semaphore pending) throws IOException {
+        Path file = null;
+        try {
+            file = Files.createTempFile("archive-import-", ".tmp");
+            Files.copy(entry, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            pending.release();
+            throw e;
+        }
+    }
+
+    private static boolean isSafeKey(String key) {
+        return !key.isEmpty() && !key.startsWith("/") && !key.contains("..");
+    }
+
+    private static String guessContentType(String key) {
+        String contentType = URLConnection.guessContentTypeFromName(key);
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled media {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long read;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            read += n;
+            if (read > limit) {
+                throw new IOException("Archive is larger than " + limit + " bytes uncompressed");
+            }
+        }
+    }
+}
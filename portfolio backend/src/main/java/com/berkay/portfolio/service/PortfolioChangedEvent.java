@@ -0,0 +1,24 @@
+package com.berkay.portfolio.service;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after documents of a portfolio collection were written or deleted. A batch
+ * publishes a single event for all the documents it touched; an empty id list means any
+ * document of the collection may have changed.
+ */
+@Getter
+@AllArgsConstructor
+public class PortfolioChangedEvent {
+    private final String collection;
+    private final Collection<String> ids;
+    // Written by another instance, reported through the change stream or version polling
+    private final boolean remote;
+
+    public PortfolioChangedEvent(String collection, Collection<String> ids) {
+        this(collection, ids, false);
+    }
+}
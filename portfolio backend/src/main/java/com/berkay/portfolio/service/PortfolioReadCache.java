@@ -0,0 +1,105 @@
+package com.berkay.portfolio.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Caches the public list reads per collection until a {@link PortfolioChangedEvent} reports
+ * a change to that collection, whether written by this instance or, through
+ * {@link CacheSyncService}, by another one.
+ *
+ * Every collection has a generation counter that invalidation increments. Entries remember the
+ * generation they were loaded in, so a load racing with a write can never be served afterwards.
+ * Concurrent misses for the same key and generation share one load, so a burst of visitors
+ * after an invalidation runs each query once.
+ */
+@Component
+public class PortfolioReadCache {
+
+    @Value("${read-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${read-cache.max-entries-per-collection:256}")
+    private int maxEntriesPerCollection;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Entry>> entries = new ConcurrentHashMap<>();
+
+    private SingleFlight<String, List<?>> loads;
+
+    @PostConstruct
+    void start() {
+        loads = new SingleFlight<>("read-cache", meterRegistry);
+    }
+
+    /**
+     * @return the cached list, or the loaded one which is cached if the collection did not change meanwhile
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(String collection, String key, Supplier<List<T>> loader) {
+        long generation = generation(collection).get();
+        // A load started before a write is not shared with callers arriving after it
+        String flightKey = collection + "/" + key + "@" + generation;
+        if (!enabled) {
+            return (List<T>) loads.execute(flightKey, () -> List.copyOf(loader.get()));
+        }
+        Map<String, Entry> cached = entries.computeIfAbsent(collection, ignored -> new ConcurrentHashMap<>());
+        Entry entry = cached.get(key);
+        if (entry != null && entry.generation == generation) {
+            return (List<T>) entry.value;
+        }
+        return (List<T>) loads.execute(flightKey, () -> {
+            List<T> loaded = List.copyOf(loader.get());
+            if (cached.size() < maxEntriesPerCollection || cached.containsKey(key)) {
+                cached.put(key, new Entry(generation, loaded));
+            }
+            return loaded;
+        });
+    }
+
+    public void invalidate(String collection) {
+        generation(collection).incrementAndGet();
+        Map<String, Entry> cached = entries.get(collection);
+        if (cached != null) {
+            cached.clear();
+        }
+    }
+
+    public void invalidateAll() {
+        generations.keySet().forEach(this::invalidate);
+    }
+
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        invalidate(event.getCollection());
+    }
+
+    private AtomicLong generation(String collection) {
+        return generations.computeIfAbsent(collection, ignored -> new AtomicLong());
+    }
+
+    private static final class Entry {
+        private final long generation;
+        private final List<?> value;
+
+        private Entry(long generation, List<?> value) {
+            this.generation = generation;
+            this.value = value;
+        }
+    }
+}
@@ -2,8 +2,13 @@ package com.berkay.portfolio.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
 import com.berkay.portfolio.model.EducationHistory;
@@ -12,6 +17,8 @@ import com.berkay.portfolio.model.PersonalInfo;
 import com.berkay.portfolio.model.ProfessionalSkills;
 import com.berkay.portfolio.model.ProjectDetailContent;
 import com.berkay.portfolio.model.Projects;
+import com.berkay.portfolio.model.Versioned;
+import com.berkay.portfolio.monitoring.PortfolioOperationEvent;
 import com.berkay.portfolio.repository.EducationHistoryRepository;
 import com.berkay.portfolio.repository.JobHistoryRepository;
 import com.berkay.portfolio.repository.PersonalInfoRepository;
@@ -40,109 +47,243 @@ public class PortfolioService {
     @Autowired
     private ProfessionalSkillsRepository professionalSkillsRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PortfolioReadCache readCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private InlineMediaExtractor inlineMediaExtractor;
+
     // Personal Info methods
     public List<PersonalInfo> getAllPersonalInfo() {
-        return personalInfoRepository.findAll();
+        return readCache.get("personal_info", "all",
+                () -> traced("personal_info", "findAll", () -> personalInfoRepository.findAll()));
     }
 
     public Optional<PersonalInfo> getPersonalInfoById(String id) {
-        return personalInfoRepository.findById(id);
+        return traced("personal_info", "findById", () -> personalInfoRepository.findById(id));
     }
 
     public PersonalInfo savePersonalInfo(PersonalInfo personalInfo) {
-        return personalInfoRepository.save(personalInfo);
+        PersonalInfo saved = traced("personal_info", "save", () -> personalInfoRepository.save(personalInfo));
+        changed("personal_info", saved.getId());
+        return saved;
     }
 
     public void deletePersonalInfo(String id) {
-        personalInfoRepository.deleteById(id);
+        traced("personal_info", "deleteById", () -> {
+            personalInfoRepository.deleteById(id);
+            return null;
+        });
+        changed("personal_info", id);
     }
 
     // Projects methods
     public List<Projects> getAllProjects() {
-        return projectsRepository.findAllByOrderByDisplayOrderAsc();
+        return readCache.get("projects", "all",
+                () -> traced("projects", "findAllByOrderByDisplayOrderAsc", () -> projectsRepository.findAllByOrderByDisplayOrderAsc()));
+    }
+
+    public List<Projects> getProjectsByTechnologies(List<String> tags) {
+        return readCache.get("projects", "tech:" + String.join(",", tags),
+                () -> traced("projects", "findByAllTechnologyTags", () -> projectsRepository.findByAllTechnologyTagsOrderByDisplayOrderAsc(tags)));
     }
 
     public Optional<Projects> getProjectById(String id) {
-        return projectsRepository.findById(id);
+        return traced("projects", "findById", () -> projectsRepository.findById(id));
     }
 
     public Projects saveProject(Projects project) {
-        return projectsRepository.save(project);
+        Projects saved = traced("projects", "save", () -> projectsRepository.save(project));
+        changed("projects", saved.getId());
+        return saved;
     }
 
     public void deleteProject(String id) {
-        projectsRepository.deleteById(id);
+        traced("projects", "deleteById", () -> {
+            projectsRepository.deleteById(id);
+            return null;
+        });
+        changed("projects", id);
     }
 
     // Project Detail Content methods
     public List<ProjectDetailContent> getAllProjectDetailContent() {
-        return projectDetailContentRepository.findAll();
+        return readCache.get("project_detail_content", "all",
+                () -> traced("project_detail_content", "findAll", () -> projectDetailContentRepository.findAll()));
     }
 
     public Optional<ProjectDetailContent> getProjectDetailContentById(String id) {
-        return projectDetailContentRepository.findById(id);
+        return traced("project_detail_content", "findById", () -> projectDetailContentRepository.findById(id));
     }
 
     public List<ProjectDetailContent> getProjectDetailContentByProjectId(String projectId) {
-        return projectDetailContentRepository.findByProjectId(projectId);
+        return readCache.get("project_detail_content", "project:" + projectId,
+                () -> traced("project_detail_content", "findByProjectId", () -> projectDetailContentRepository.findByProjectId(projectId)));
     }
 
     public ProjectDetailContent saveProjectDetailContent(ProjectDetailContent content) {
-        return projectDetailContentRepository.save(content);
+        ProjectDetailContent saved = traced("project_detail_content", "save", () -> projectDetailContentRepository.save(content));
+        changed("project_detail_content", saved.getId());
+        return saved;
     }
 
     public void deleteProjectDetailContent(String id) {
-        projectDetailContentRepository.deleteById(id);
+        traced("project_detail_content", "deleteById", () -> {
+            projectDetailContentRepository.deleteById(id);
+            return null;
+        });
+        changed("project_detail_content", id);
     }
 
     // Job History methods
     public List<JobHistory> getAllJobHistory() {
-        return jobHistoryRepository.findAllByOrderByDisplayOrderAsc();
+        return readCache.get("job_history", "all",
+                () -> traced("job_history", "findAllByOrderByDisplayOrderAsc", () -> jobHistoryRepository.findAllByOrderByDisplayOrderAsc()));
     }
 
     public Optional<JobHistory> getJobHistoryById(String id) {
-        return jobHistoryRepository.findById(id);
+        return traced("job_history", "findById", () -> jobHistoryRepository.findById(id));
     }
 
     public JobHistory saveJobHistory(JobHistory jobHistory) {
-        return jobHistoryRepository.save(jobHistory);
+        JobHistory saved = traced("job_history", "save", () -> jobHistoryRepository.save(jobHistory));
+        changed("job_history", saved.getId());
+        return saved;
     }
 
     public void deleteJobHistory(String id) {
-        jobHistoryRepository.deleteById(id);
+        traced("job_history", "deleteById", () -> {
+            jobHistoryRepository.deleteById(id);
+            return null;
+        });
+        changed("job_history", id);
     }
 
     // Education History methods
     public List<EducationHistory> getAllEducationHistory() {
-        return educationHistoryRepository.findAllByOrderByDisplayOrderAsc();
+        return readCache.get("education_history", "all",
+                () -> traced("education_history", "findAllByOrderByDisplayOrderAsc", () -> educationHistoryRepository.findAllByOrderByDisplayOrderAsc()));
     }
 
     public Optional<EducationHistory> getEducationHistoryById(String id) {
-        return educationHistoryRepository.findById(id);
+        return traced("education_history", "findById", () -> educationHistoryRepository.findById(id));
     }
 
     public EducationHistory saveEducationHistory(EducationHistory educationHistory) {
-        return educationHistoryRepository.save(educationHistory);
+        EducationHistory saved = traced("education_history", "save", () -> educationHistoryRepository.save(educationHistory));
+        changed("education_history", saved.getId());
+        return saved;
     }
 
     public void deleteEducationHistory(String id) {
-        educationHistoryRepository.deleteById(id);
+        traced("education_history", "deleteById", () -> {
+            educationHistoryRepository.deleteById(id);
+            return null;
+        });
+        changed("education_history", id);
     }
 
     // Professional Skills methods
     public List<ProfessionalSkills> getAllProfessionalSkills() {
-        return professionalSkillsRepository.findAllByOrderByDisplayOrderAsc();
+        return readCache.get("professional_skills", "all",
+                () -> traced("professional_skills", "findAllByOrderByDisplayOrderAsc", () -> professionalSkillsRepository.findAllByOrderByDisplayOrderAsc()));
     }
 
     public Optional<ProfessionalSkills> getProfessionalSkillsById(String id) {
-        return professionalSkillsRepository.findById(id);
+        return traced("professional_skills", "findById", () -> professionalSkillsRepository.findById(id));
     }
 
     public ProfessionalSkills saveProfessionalSkills(ProfessionalSkills skills) {
-        return professionalSkillsRepository.save(skills);
+        ProfessionalSkills saved = traced("professional_skills", "save", () -> professionalSkillsRepository.save(skills));
+        changed("professional_skills", saved.getId());
+        return saved;
     }
 
     public void deleteProfessionalSkills(String id) {
-        professionalSkillsRepository.deleteById(id);
+        traced("professional_skills", "deleteById", () -> {
+            professionalSkillsRepository.deleteById(id);
+            return null;
+        });
+        changed("professional_skills", id);
+    }
+
+    /**
+     * Replaces a whole document, unless it has been updated since the version the replacement
+     * is based on; a plain save would silently overwrite that update.
+     * @return the saved document, or empty if there is no document with this id any more
+     * @throws VersionConflictException if the stored document no longer has that version
+     */
+    public <T extends Versioned> Optional<T> replace(String id, T document, long basedOn) {
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) document.getClass();
+        String collection = mongoTemplate.getCollectionName(type);
+        document.setVersion(basedOn + 1);
+        T saved = traced(collection, "replace", () -> mongoTemplate.findAndReplace(
+                Query.query(Versions.matching(id, basedOn)), document, FindAndReplaceOptions.options().returnNew()));
+        if (saved == null) {
+            T current = mongoTemplate.findById(id, type);
+            // Nothing was written, so images moved out of the rich text belong to no document
+            if (document instanceof ProjectDetailContent content
+                    && content.getProjectDetailContentType() == ProjectDetailContent.ProjectDetailContentType.TEXT) {
+                List<String> uploaded = MediaReferences.removed(content, current != null ? current : new ProjectDetailContent())
+                        .stream()
+                        .filter(mediaService::isBucketReference)
+                        .toList();
+                if (!uploaded.isEmpty()) {
+                    mediaService.deleteFiles(inlineMediaExtractor.unshared(uploaded));
+                }
+            }
+            if (current == null) {
+                return Optional.empty();
+            }
+            throw new VersionConflictException("Document was modified by another request", Versions.current(current));
+        }
+        changed(collection, id);
+        return Optional.of(saved);
+    }
+
+    private void changed(String collection, String id) {
+        eventPublisher.publishEvent(new PortfolioChangedEvent(collection, List.of(id)));
+    }
+
+    private <T> T traced(String collection, String operation, Supplier<T> action) {
+        PortfolioOperationEvent event = new PortfolioOperationEvent();
+        event.begin();
+        T result = null;
+        boolean failed = true;
+        try {
+            result = action.get();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            // Fields are only filled in while a recording wants the event
+            if (event.shouldCommit()) {
+                event.collection = collection;
+                event.operation = operation;
+                event.documents = documents(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private int documents(Object result) {
+        if (result instanceof List<?> list) {
+            return list.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
     }
 }
@@ -0,0 +1,223 @@
+package com.berkay.portfolio.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berkay.portfolio.model.DeletionJob;
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deletes a project together with its detail content: the documents with one deleteMany in
+ * the request, then all referenced media in batched S3 calls on a background worker.
+ * Progress is kept as a {@link DeletionJob} that can be polled. Cleanups still queued at
+ * shutdown are waited for, as nothing else would delete that media later.
+ */
+@Service
+public class ProjectDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectDeletionService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoTransactionManager transactionManager;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private InlineMediaExtractor inlineMediaExtractor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${batch.transactional:true}")
+    private boolean transactional;
+
+    @Value("${deletion-jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${deletion-jobs.shutdown-timeout-seconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    private final Map<String, DeletionJob> jobs = new ConcurrentHashMap<>();
+
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "media-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(shutdownTimeoutSeconds, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Runnable queued : executor.shutdownNow()) {
+            MediaCleanup cleanup = (MediaCleanup) queued;
+            // Logged in full so the objects can still be deleted by hand
+            log.warn("Media of deleted project {} was not deleted before shutdown: {}",
+                    cleanup.job.getProjectId(), cleanup.media);
+        }
+    }
+
+    /**
+     * Deletes the project and its detail content and schedules the media cleanup.
+     * @return the job tracking the cleanup, already completed if there was no media to delete
+     */
+    public DeletionJob deleteProject(Projects project) {
+        evictFinishedJobs();
+        Set<String> media = new LinkedHashSet<>();
+        collectMedia(project, media);
+
+        long detailContentDeleted = transactional
+                ? transactionTemplate.execute(status -> deleteDocuments(project.getId(), media))
+                : deleteDocuments(project.getId(), media);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(mongoTemplate.getCollectionName(Projects.class),
+                List.of(project.getId())));
+        if (detailContentDeleted > 0) {
+            // Child ids were never loaded; an empty id list means the whole collection may have changed
+            eventPublisher.publishEvent(new PortfolioChangedEvent(
+                    mongoTemplate.getCollectionName(ProjectDetailContent.class), List.of()));
+        }
+
+        // Images the deleted rich text shares with content of other projects stay
+        List<String> unshared = inlineMediaExtractor.unshared(media);
+
+        Instant now = Instant.now();
+        DeletionJob job = DeletionJob.builder()
+                .id(UUID.randomUUID().toString())
+                .projectId(project.getId())
+                .status(unshared.isEmpty() ? DeletionJob.Status.COMPLETED : DeletionJob.Status.RUNNING)
+                .detailContentDeleted(detailContentDeleted)
+                .mediaTotal(unshared.size())
+                .mediaFailed(List.of())
+                .startedAt(now)
+                .finishedAt(unshared.isEmpty() ? now : null)
+                .build();
+        jobs.put(job.getId(), job);
+        if (!unshared.isEmpty()) {
+            executor.execute(new MediaCleanup(job, unshared));
+        }
+        return job;
+    }
+
+    /**
+     * Deletes the detail content of the projects, inside the caller's transaction if there is
+     * one. Batch deletes of projects cascade through this like {@link #deleteProject(Projects)}.
+     * @param media collects the media of the deleted content, to delete once the write committed
+     * @return the number of detail content documents deleted
+     */
+    public long deleteDetailContent(Collection<String> projectIds, Set<String> media) {
+        // Only the fields naming media are loaded; TEXT children may hold images moved out of the HTML
+        Query mediaChildren = Query.query(Criteria.where("projectId").in(projectIds));
+        mediaChildren.fields().include("projectDetailContentType", "projectDetailContent", "projectDetailContentMetadata");
+        for (ProjectDetailContent child : mongoTemplate.find(mediaChildren, ProjectDetailContent.class)) {
+            collectMedia(child, media);
+        }
+        return mongoTemplate.remove(Query.query(Criteria.where("projectId").in(projectIds)),
+                ProjectDetailContent.class).getDeletedCount();
+    }
+
+    public Optional<DeletionJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private long deleteDocuments(String projectId, Set<String> media) {
+        long deleted = deleteDetailContent(List.of(projectId), media);
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(projectId)), Projects.class);
+        return deleted;
+    }
+
+    private void deleteMedia(DeletionJob job, List<String> media) {
+        List<String> failed = List.of();
+        try {
+            failed = mediaService.deleteFiles(media);
+        } catch (RuntimeException e) {
+            log.warn("Media cleanup of project {} failed: {}", job.getProjectId(), e.getMessage());
+            failed = media;
+        } finally {
+            // Jobs are replaced rather than mutated, so readers always see a consistent snapshot
+            jobs.put(job.getId(), job.toBuilder()
+                    .status(failed.isEmpty() ? DeletionJob.Status.COMPLETED : DeletionJob.Status.COMPLETED_WITH_ERRORS)
+                    .mediaDeleted(media.size() - failed.size())
+                    .mediaFailed(failed)
+                    .finishedAt(Instant.now())
+                    .build());
+        }
+        if (!failed.isEmpty()) {
+            log.warn("Failed to delete {} media files of project {}", failed.size(), job.getProjectId());
+        }
+    }
+
+    private void collectMedia(Object document, Set<String> media) {
+        for (MediaReferences.Reference reference : MediaReferences.of(document)) {
+            if (mediaService.isBucketReference(reference.getUrl())) {
+                media.add(reference.getUrl());
+            }
+            if (reference.getMetadata() != null && reference.getMetadata().getPosterKey() != null) {
+                media.add(reference.getMetadata().getPosterKey());
+            }
+        }
+    }
+
+    private void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private final class MediaCleanup implements Runnable {
+        private final DeletionJob job;
+        private final List<String> media;
+
+        private MediaCleanup(DeletionJob job, List<String> media) {
+            this.job = job;
+            this.media = media;
+        }
+
+        @Override
+        public void run() {
+            deleteMedia(job, media);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.berkay.portfolio.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.berkay.portfolio.model.BackfillJob;
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.mongodb.client.result.UpdateResult;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs TEXT detail content saved before the rich-text pipeline existed through it: documents
+ * without a summary, or still holding inline base64 images, are rewritten in batches in the
+ * background. Every write is guarded by the version it was read at, so a concurrent edit wins
+ * and the images uploaded for the skipped document are deleted again.
+ */
+@Service
+public class RichTextBackfillService {
+
+    private static final Logger log = LoggerFactory.getLogger(RichTextBackfillService.class);
+
+    private static final String JOB_TYPE = "rich-text";
+    private static final String VERSION = "version";
+    // An img tag whose source is a data URI
+    private static final String INLINE_IMAGE_PATTERN = "<img[^>]+src\\s*=\\s*[\"']?data:";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RichTextProcessor richTextProcessor;
+
+    @Autowired
+    private InlineMediaExtractor inlineMediaExtractor;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${rich-text.backfill.batch-size:20}")
+    private int batchSize;
+
+    @Value("${rich-text.backfill.on-startup:true}")
+    private boolean onStartup;
+
+    private final Map<String, BackfillJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+    private volatile String runningJobId;
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rich-text-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startIfNeeded() {
+        if (!onStartup) {
+            return;
+        }
+        try {
+            if (mongoTemplate.exists(Query.query(pending()), ProjectDetailContent.class)) {
+                startJob();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check for unprocessed rich text: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the backfill, or returns the job already running.
+     */
+    public synchronized BackfillJob startJob() {
+        if (runningJobId != null) {
+            return jobs.get(runningJobId);
+        }
+        BackfillJob job = BackfillJob.builder()
+                .id(UUID.randomUUID().toString())
+                .type(JOB_TYPE)
+                .status(BackfillJob.Status.RUNNING)
+                .startedAt(Instant.now())
+                .build();
+        jobs.put(job.getId(), job);
+        runningJobId = job.getId();
+        executor.execute(() -> run(job.getId()));
+        return job;
+    }
+
+    public Optional<BackfillJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(String jobId) {
+        BackfillJob.Status status = BackfillJob.Status.COMPLETED;
+        try {
+            String lastId = null;
+            while (!Thread.currentThread().isInterrupted()) {
+                Query batch = Query.query(lastId == null
+                                ? pending()
+                                : new Criteria().andOperator(pending(), Criteria.where("_id").gt(id(lastId))))
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(batchSize);
+                List<ProjectDetailContent> contents = mongoTemplate.find(batch, ProjectDetailContent.class);
+                if (contents.isEmpty()) {
+                    break;
+                }
+                lastId = contents.get(contents.size() - 1).getId();
+                processBatch(jobId, contents);
+            }
+            if (jobs.get(jobId).getDocumentsFailed() > 0) {
+                status = BackfillJob.Status.COMPLETED_WITH_ERRORS;
+            }
+        } catch (RuntimeException e) {
+            log.error("Rich text backfill failed", e);
+            status = BackfillJob.Status.FAILED;
+        } finally {
+            BackfillJob job = jobs.get(jobId);
+            jobs.put(jobId, job.toBuilder().status(status).finishedAt(Instant.now()).build());
+            runningJobId = null;
+            log.info("Rich text backfill {}: {} updated, {} skipped, {} failed", status.name().toLowerCase(),
+                    job.getDocumentsUpdated(), job.getDocumentsSkipped(), job.getDocumentsFailed());
+        }
+    }
+
+    private void processBatch(String jobId, List<ProjectDetailContent> contents) {
+        List<String> ids = new ArrayList<>();
+        int skipped = 0;
+        int failed = 0;
+        for (ProjectDetailContent content : contents) {
+            ProjectDetailContent read = content.toBuilder().build();
+            long version = Versions.current(content);
+            try {
+                // Uploads inline images and sanitizes, exactly like a save would
+                richTextProcessor.process(content);
+            } catch (RuntimeException e) {
+                log.warn("Failed to process rich text of detail content {}: {}", content.getId(), e.getMessage());
+                failed++;
+                continue;
+            }
+            // One write per document: a skipped one must be known to clean up after it
+            Criteria unchanged = Criteria.where("_id").is(content.getId());
+            unchanged = version == 0 ? unchanged.and(VERSION).in(0L, null) : unchanged.and(VERSION).is(version);
+            UpdateResult result = mongoTemplate.updateFirst(Query.query(unchanged), new Update()
+                    .set(RichTextProcessor.CONTENT_FIELD, content.getProjectDetailContent())
+                    .set(RichTextProcessor.SUMMARY_FIELD, content.getProjectDetailContentSummary())
+                    .inc(VERSION, 1), ProjectDetailContent.class);
+            if (result.getModifiedCount() > 0) {
+                ids.add(content.getId());
+            } else {
+                // Edited or deleted meanwhile, the images uploaded for this pass belong to nothing
+                skipped++;
+                mediaService.deleteFiles(inlineMediaExtractor.unshared(MediaReferences.removed(content, read)));
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new PortfolioChangedEvent(
+                    mongoTemplate.getCollectionName(ProjectDetailContent.class), ids));
+        }
+        BackfillJob job = jobs.get(jobId);
+        jobs.put(jobId, job.toBuilder()
+                .documentsScanned(job.getDocumentsScanned() + contents.size())
+                .documentsUpdated(job.getDocumentsUpdated() + ids.size())
+                .documentsSkipped(job.getDocumentsSkipped() + skipped)
+                .documentsFailed(job.getDocumentsFailed() + failed)
+                .build());
+    }
+
+    // TEXT content the pipeline has not run over yet
+    private static Criteria pending() {
+        return Criteria.where("projectDetailContentType").is(ProjectDetailContent.ProjectDetailContentType.TEXT)
+                .orOperator(
+                        Criteria.where(RichTextProcessor.SUMMARY_FIELD).exists(false),
+                        Criteria.where(RichTextProcessor.CONTENT_FIELD).regex(INLINE_IMAGE_PATTERN, "i"));
+    }
+
+    private static Object id(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+}
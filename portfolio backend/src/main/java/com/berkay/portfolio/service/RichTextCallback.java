@@ -0,0 +1,36 @@
+package com.berkay.portfolio.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import com.berkay.portfolio.model.ProjectDetailContent;
+
+/**
+ * Runs the rich-text pipeline whenever detail content is written as a whole. Partial updates
+ * go through {@link PatchService}, which runs it itself.
+ */
+@Component
+public class RichTextCallback implements BeforeConvertCallback<ProjectDetailContent> {
+
+    @Autowired
+    private RichTextProcessor richTextProcessor;
+
+    // Looked up lazily, MongoTemplate itself invokes this callback
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Override
+    public ProjectDetailContent onBeforeConvert(ProjectDetailContent content, String collection) {
+        ProjectDetailContent stored = null;
+        if (content.getId() != null
+                && content.getProjectDetailContentType() == ProjectDetailContent.ProjectDetailContentType.TEXT) {
+            // Saves of an unchanged text keep the original stored with it
+            stored = mongoTemplate.getObject().findById(content.getId(), ProjectDetailContent.class, collection);
+        }
+        richTextProcessor.process(content, stored);
+        return content;
+    }
+}
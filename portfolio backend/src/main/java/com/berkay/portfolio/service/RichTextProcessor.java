@@ -0,0 +1,141 @@
+package com.berkay.portfolio.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.RichTextSummary;
+
+/**
+ * Write-time pipeline for TEXT detail content: sanitizes the editor HTML down to what the
+ * Quill editor can produce, minifies it, and derives the excerpt, word count and reading time
+ * stored next to it. Reads then serve stored, safe HTML and list pages can use the summary.
+ */
+@Component
+public class RichTextProcessor {
+
+    public static final String CONTENT_FIELD = "projectDetailContent";
+    public static final String SUMMARY_FIELD = "projectDetailContentSummary";
+
+    // The formats enabled in RichTextEditor.tsx, plus images once moved out of the HTML
+    private static final Safelist SAFELIST = new Safelist()
+            .addTags("p", "br", "h1", "h2", "h3", "strong", "em", "u", "s", "ol", "ul", "li", "a", "span", "img")
+            .addAttributes(":all", "class")
+            .addAttributes("a", "href", "target", "rel")
+            .addAttributes("img", "src", "alt", "width", "height")
+            .addProtocols("a", "href", "http", "https", "mailto")
+            .addProtocols("img", "src", "http", "https")
+            .preserveRelativeLinks(true);
+    // Alignment and indentation are the only classes Quill emits
+    private static final String ALLOWED_CLASS_PREFIX = "ql-";
+
+    private static final int WORDS_PER_MINUTE = 200;
+
+    @Autowired
+    private InlineMediaExtractor inlineMediaExtractor;
+
+    @Value("${rich-text.excerpt-length:200}")
+    private int excerptLength;
+
+    @Value("${rich-text.store-original:true}")
+    private boolean storeOriginal;
+
+    @Value("${rich-text.compress-original:true}")
+    private boolean compressOriginal;
+
+    /**
+     * Replaces TEXT content with its sanitized form and sets the summary; clears the summary
+     * of other content types. Inline base64 images are uploaded to S3 first.
+     */
+    public void process(ProjectDetailContent content) {
+        process(content, null);
+    }
+
+    /**
+     * Like {@link #process(ProjectDetailContent)}, for content replacing the stored version.
+     * Content submitted exactly as stored, as when only other fields are edited, is already
+     * sanitized: the original kept when it was first sanitized is carried over.
+     */
+    public void process(ProjectDetailContent content, ProjectDetailContent stored) {
+        if (content.getProjectDetailContentType() != ProjectDetailContent.ProjectDetailContentType.TEXT
+                || content.getProjectDetailContent() == null) {
+            content.setProjectDetailContentSummary(null);
+            return;
+        }
+        RichTextSummary storedSummary = stored != null
+                && content.getProjectDetailContent().equals(stored.getProjectDetailContent())
+                ? stored.getProjectDetailContentSummary()
+                : null;
+        // Without inline images, so an original kept below never holds the base64 either
+        String submitted = inlineMediaExtractor.extract(content.getProjectDetailContent());
+        Document document = new Cleaner(SAFELIST).clean(Jsoup.parseBodyFragment(submitted));
+        for (Element element : document.body().select("[class]")) {
+            List<String> classes = new ArrayList<>();
+            for (String name : element.classNames()) {
+                if (name.startsWith(ALLOWED_CLASS_PREFIX)) {
+                    classes.add(name);
+                }
+            }
+            if (classes.isEmpty()) {
+                element.removeAttr("class");
+            } else {
+                element.attr("class", String.join(" ", classes));
+            }
+        }
+        for (Element link : document.body().select("a[target]")) {
+            link.attr("rel", "noopener noreferrer");
+        }
+        document.outputSettings().prettyPrint(false);
+        String sanitized = document.body().html();
+        String text = document.body().text();
+
+        int words = text.isBlank() ? 0 : text.trim().split("\\s+").length;
+        RichTextSummary summary = RichTextSummary.builder()
+                .excerpt(excerpt(text))
+                .wordCount(words)
+                .readingTimeMinutes(Math.max(1, (words + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE))
+                .build();
+        if (storeOriginal && !sanitized.equals(submitted)) {
+            byte[] original = submitted.getBytes(StandardCharsets.UTF_8);
+            summary.setOriginal(compressOriginal ? gzip(original) : original);
+            summary.setOriginalCompressed(compressOriginal);
+        } else if (storedSummary != null && storedSummary.getOriginal() != null) {
+            summary.setOriginal(storedSummary.getOriginal());
+            summary.setOriginalCompressed(storedSummary.getOriginalCompressed());
+        }
+        content.setProjectDetailContent(sanitized);
+        content.setProjectDetailContentSummary(summary);
+    }
+
+    private String excerpt(String text) {
+        if (text.length() <= excerptLength) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', excerptLength);
+        return text.substring(0, end > 0 ? end : excerptLength) + "…";
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,72 @@
+package com.berkay.portfolio.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent identical calls: the first caller for a key runs the computation, callers
+ * arriving while it is in flight wait for and share its result or exception. Nothing is kept
+ * once the computation finishes, so this is not a cache.
+ *
+ * Counted as {@code singleflight.calls} with the role of the caller, leader or coalesced.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        leaders = counter(name, "leader", meterRegistry);
+        coalesced = counter(name, "coalesced", meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        leaders.increment();
+        try {
+            V value = computation.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrown as the leader saw it
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(String name, String role, MeterRegistry meterRegistry) {
+        return Counter.builder("singleflight.calls")
+                .tag("name", name)
+                .tag("role", role)
+                .description("Calls that ran a computation, or shared one already in flight")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,161 @@
+package com.berkay.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.berkay.portfolio.model.Projects;
+import com.berkay.portfolio.model.TechnologyFacet;
+import com.berkay.portfolio.repository.ProjectsRepository;
+
+/**
+ * Keeps per-tag project counts in memory. Counts are built once at startup and then adjusted
+ * from the {@link PortfolioChangedEvent}s of changed projects, so serving facets never
+ * touches Mongo. Updates read and apply under one lock, so they apply in the order they read.
+ */
+@Service
+public class TechnologyFacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(TechnologyFacetService.class);
+
+    private static final String PROJECTS = "projects";
+
+    @Autowired
+    private ProjectsRepository projectsRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Project id -> tags counted for it, to undo its contribution when it changes
+    private final Map<String, List<String>> projectTags = new HashMap<>();
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    private volatile List<TechnologyFacet> facets = List.of();
+    private volatile boolean built;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            // Multikey index serving ?tech= filters in display order
+            mongoTemplate.indexOps(Projects.class).createIndex(new Index()
+                    .on(TechnologyTags.FIELD, Sort.Direction.ASC)
+                    .on("displayOrder", Sort.Direction.ASC));
+            backfill();
+        } catch (Exception e) {
+            log.warn("Failed to prepare technology tags: {}", e.getMessage());
+        }
+        rebuild();
+    }
+
+    // Retries the initial count if Mongo was unreachable at startup
+    @Scheduled(fixedDelay = 30_000, initialDelay = 30_000)
+    public void retryBuild() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    public List<TechnologyFacet> getFacets() {
+        return facets;
+    }
+
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        if (!PROJECTS.equals(event.getCollection())) {
+            return;
+        }
+        if (event.getIds().isEmpty()) {
+            rebuild();
+            return;
+        }
+        try {
+            // Read under the lock too: a read finishing after a later one must not apply last
+            synchronized (this) {
+                List<Projects> projects = projectsRepository.findAllById(event.getIds());
+                for (String id : event.getIds()) {
+                    uncount(id);
+                }
+                projects.forEach(this::count);
+                publish();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to update technology facets: {}", e.getMessage());
+            built = false;
+        }
+    }
+
+    public void rebuild() {
+        try {
+            synchronized (this) {
+                List<Projects> projects = projectsRepository.findAll();
+                projectTags.clear();
+                counts.clear();
+                projects.forEach(this::count);
+                publish();
+            }
+            built = true;
+        } catch (Exception e) {
+            log.warn("Failed to count technology facets: {}", e.getMessage());
+        }
+    }
+
+    // Projects saved before tags existed get them derived once
+    private void backfill() {
+        List<Projects> untagged = mongoTemplate.find(
+                Query.query(Criteria.where(TechnologyTags.FIELD).exists(false)), Projects.class);
+        if (untagged.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Projects.class);
+        for (Projects project : untagged) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(project.getId())),
+                    new Update().set(TechnologyTags.FIELD, TechnologyTags.parse(project.getProjectTechnologies())));
+        }
+        bulk.execute();
+        log.info("Derived technology tags for {} projects", untagged.size());
+    }
+
+    private void count(Projects project) {
+        List<String> tags = TechnologyTags.of(project);
+        projectTags.put(project.getId(), tags);
+        for (String tag : tags) {
+            counts.merge(tag, 1, Integer::sum);
+        }
+    }
+
+    private void uncount(String projectId) {
+        List<String> tags = projectTags.remove(projectId);
+        if (tags == null) {
+            return;
+        }
+        for (String tag : tags) {
+            counts.computeIfPresent(tag, (ignored, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    // Replaces the served snapshot, readers never see a half-applied change
+    private void publish() {
+        List<TechnologyFacet> snapshot = new ArrayList<>(counts.size());
+        counts.forEach((tag, count) -> snapshot.add(new TechnologyFacet(tag, count)));
+        snapshot.sort(Comparator.comparingInt(TechnologyFacet::getCount).reversed()
+                .thenComparing(TechnologyFacet::getTag));
+        facets = List.copyOf(snapshot);
+    }
+}
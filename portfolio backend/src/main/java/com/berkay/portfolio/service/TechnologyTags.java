@@ -0,0 +1,52 @@
+package com.berkay.portfolio.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.berkay.portfolio.model.Projects;
+
+/**
+ * Turns the free-form, comma separated projectTechnologies string into normalised tags:
+ * trimmed, single-spaced, lowercase and without duplicates, in their original order.
+ */
+public final class TechnologyTags {
+
+    public static final String FIELD = "technologyTags";
+
+    private static final Pattern SEPARATOR = Pattern.compile("[,;\\n]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TechnologyTags() {
+    }
+
+    public static List<String> parse(String technologies) {
+        if (technologies == null || technologies.isBlank()) {
+            return new ArrayList<>();
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        for (String part : SEPARATOR.split(technologies)) {
+            String tag = normalize(part);
+            if (!tag.isEmpty()) {
+                tags.add(tag);
+            }
+        }
+        return new ArrayList<>(tags);
+    }
+
+    public static String normalize(String tag) {
+        return WHITESPACE.matcher(tag.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Stored tags of the project, parsed on the fly for documents saved before tags existed.
+     */
+    public static List<String> of(Projects project) {
+        return project.getTechnologyTags() != null
+                ? project.getTechnologyTags()
+                : parse(project.getProjectTechnologies());
+    }
+}
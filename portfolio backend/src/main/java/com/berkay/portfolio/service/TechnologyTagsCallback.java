@@ -0,0 +1,21 @@
+package com.berkay.portfolio.service;
+
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import com.berkay.portfolio.model.Projects;
+
+/**
+ * Derives technologyTags whenever a project is written as a whole, i.e. repository saves,
+ * inserts and the replaces of batch writes and archive imports. Partial updates go through
+ * {@link PatchService}, which sets the tags itself.
+ */
+@Component
+public class TechnologyTagsCallback implements BeforeConvertCallback<Projects> {
+
+    @Override
+    public Projects onBeforeConvert(Projects project, String collection) {
+        project.setTechnologyTags(TechnologyTags.parse(project.getProjectTechnologies()));
+        return project;
+    }
+}
@@ -0,0 +1,17 @@
+package com.berkay.portfolio.service;
+
+import com.berkay.portfolio.model.MediaMetadata;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Result of an upload: the media reference to store on the document and the metadata
+ * extracted from the uploaded bytes.
+ */
+@Data
+@AllArgsConstructor
+public class UploadedMedia {
+    private String url;
+    private MediaMetadata metadata;
+}
@@ -0,0 +1,18 @@
+package com.berkay.portfolio.service;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Everything the authentication filter needs from a JWT, kept after the signature has been checked once.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+    private final String username;
+    private final List<String> authorities;
+    private final String credentialVersion;
+    private final long expiresAt;
+}
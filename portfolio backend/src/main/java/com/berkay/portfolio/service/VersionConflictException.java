@@ -0,0 +1,18 @@
+package com.berkay.portfolio.service;
+
+/**
+ * Thrown when a conditional update names a version the document no longer has.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public VersionConflictException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,63 @@
+package com.berkay.portfolio.service;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import com.berkay.portfolio.model.Versioned;
+
+/**
+ * Version arithmetic and the ETag / If-Match representation of {@link Versioned} documents.
+ */
+public final class Versions {
+
+    private static final String VERSION = "version";
+
+    private Versions() {
+    }
+
+    public static long current(Versioned document) {
+        return document.getVersion() == null ? 0 : document.getVersion();
+    }
+
+    /**
+     * Matches the document with this id while it still has the expected version.
+     * @param expectedVersion null to match any version
+     */
+    public static Criteria matching(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion == null) {
+            return criteria;
+        }
+        // Documents from before versioning have no version field, which counts as 0
+        return expectedVersion == 0
+                ? criteria.and(VERSION).in(0L, null)
+                : criteria.and(VERSION).is(expectedVersion);
+    }
+
+    public static String etag(Versioned document) {
+        return "\"" + current(document) + "\"";
+    }
+
+    /**
+     * Parses an If-Match header holding one of our ETags.
+     * @return the expected version, or null for "*" (any version)
+     * @throws IllegalArgumentException if the header is not a version ETag
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        String value = ifMatch.trim();
+        if ("*".equals(value)) {
+            return null;
+        }
+        // Intermediaries may weaken the ETag, the version is the same
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
+    }
+}
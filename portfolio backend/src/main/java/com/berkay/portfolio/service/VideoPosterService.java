@@ -0,0 +1,234 @@
+package com.berkay.portfolio.service;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.jcodec.api.FrameGrab;
+import org.jcodec.common.io.NIOUtils;
+import org.jcodec.common.io.SeekableByteChannel;
+import org.jcodec.common.model.Picture;
+import org.jcodec.scale.AWTUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Decodes a representative frame of uploaded videos into a small JPEG poster with JCodec
+ * (pure Java, no native ffmpeg) and stores duration, resolution and the poster on the document
+ * that references the video. Runs on its own low-priority worker, never on request threads.
+ * Every queued video holds a spooled copy on disk, so the queue is bounded and videos arriving
+ * while it is full are kept without poster.
+ */
+@Service
+public class VideoPosterService {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoPosterService.class);
+
+    private static final String POSTER_FOLDER = "video-posters";
+    private static final int POSTER_MAX_SIZE = 640;
+    // Skip the first frames, which are often black or a fade-in
+    private static final double POSTER_POSITION_RATIO = 0.1;
+    private static final double POSTER_MAX_POSITION_SECONDS = 3.0;
+    // The document referencing the video is usually saved right after the upload returns
+    private static final int MAX_ATTACH_ATTEMPTS = 10;
+    private static final long ATTACH_RETRY_DELAY_SECONDS = 3;
+
+    @Autowired
+    private MediaService mediaService;
+
+    @Autowired
+    private ImageMetadataExtractor imageMetadataExtractor;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${media.poster.worker-threads:1}")
+    private int workerThreads;
+
+    @Value("${media.poster.queue-capacity:8}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    // Retries attaching finished posters; these tasks hold no spooled video
+    private ScheduledExecutorService retries;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "video-poster-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "video-poster-attach");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        for (Runnable queued : executor.shutdownNow()) {
+            deleteQuietly(((PosterTask) queued).event.getSpooledFile());
+        }
+        retries.shutdownNow();
+    }
+
+    @EventListener
+    public void onVideoUploaded(VideoUploadedEvent event) {
+        try {
+            executor.execute(new PosterTask(event));
+        } catch (RejectedExecutionException e) {
+            log.warn("Poster queue is full, keeping {} without poster", event.getUrl());
+            deleteQuietly(event.getSpooledFile());
+        }
+    }
+
+    private void generatePoster(VideoUploadedEvent event) {
+        VideoPoster poster;
+        try {
+            poster = extractPoster(event.getSpooledFile().toFile());
+        } catch (Exception e) {
+            // Unsupported codec or container (JCodec handles H.264 in MP4/MOV), keep the video without poster
+            log.info("Failed to extract poster frame for {}: {}", event.getUrl(), e.getMessage());
+            return;
+        } finally {
+            deleteQuietly(event.getSpooledFile());
+        }
+
+        try {
+            poster.posterKey = mediaService.uploadBytes(poster.jpeg, "image/jpeg", POSTER_FOLDER, "poster.jpg");
+            poster.jpeg = null;
+            attach(event.getUrl(), poster, 1);
+        } catch (Exception e) {
+            log.warn("Failed to store poster for {}", event.getUrl(), e);
+        }
+    }
+
+    private VideoPoster extractPoster(File video) throws Exception {
+        try (SeekableByteChannel channel = NIOUtils.readableChannel(video)) {
+            FrameGrab grab = FrameGrab.createFrameGrab(channel);
+            double duration = grab.getVideoTrack().getMeta().getTotalDuration();
+
+            double position = Math.min(duration * POSTER_POSITION_RATIO, POSTER_MAX_POSITION_SECONDS);
+            if (position > 0) {
+                grab.seekToSecondPrecise(position);
+            }
+            Picture picture = grab.getNativeFrame();
+            if (picture == null) {
+                throw new IOException("No decodable video frame");
+            }
+
+            BufferedImage frame = AWTUtil.toBufferedImage(picture);
+            BufferedImage posterImage = imageMetadataExtractor.downscale(frame, POSTER_MAX_SIZE);
+            ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+            if (!ImageIO.write(posterImage, "jpg", jpeg)) {
+                throw new IOException("No JPEG writer available");
+            }
+
+            VideoPoster poster = new VideoPoster();
+            poster.durationSeconds = duration;
+            poster.width = frame.getWidth();
+            poster.height = frame.getHeight();
+            poster.blurHash = imageMetadataExtractor.blurHash(posterImage);
+            poster.jpeg = jpeg.toByteArray();
+            return poster;
+        }
+    }
+
+    private void attach(String videoUrl, VideoPoster poster, int attempt) {
+        long matched = attachTo(Projects.class, "projectContent", videoUrl, poster)
+                + attachTo(ProjectDetailContent.class, "projectDetailContent", videoUrl, poster);
+        if (matched > 0) {
+            return;
+        }
+
+        if (attempt < MAX_ATTACH_ATTEMPTS) {
+            retries.schedule(() -> attach(videoUrl, poster, attempt + 1), ATTACH_RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+        } else {
+            // The upload was never saved on a document, so nothing will ever show this poster
+            mediaService.deleteFile(poster.posterKey);
+        }
+    }
+
+    private long attachTo(Class<?> documentType, String mediaField, String videoUrl, VideoPoster poster) {
+        String metadataField = mediaField + "Metadata";
+        Update update = new Update()
+                .set(metadataField + ".durationSeconds", poster.durationSeconds)
+                .set(metadataField + ".width", poster.width)
+                .set(metadataField + ".height", poster.height)
+                .set(metadataField + ".blurHash", poster.blurHash)
+                .set(metadataField + ".posterKey", poster.posterKey);
+        Query query = Query.query(Criteria.where(mediaField).is(videoUrl));
+        long matched = mongoTemplate.updateMulti(query, update, documentType).getMatchedCount();
+        if (matched > 0) {
+            eventPublisher.publishEvent(new PortfolioChangedEvent(mongoTemplate.getCollectionName(documentType), List.of()));
+        }
+        return matched;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spooled video {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Named so the spooled file of a task still queued at shutdown can be deleted
+    private final class PosterTask implements Runnable {
+        private final VideoUploadedEvent event;
+
+        private PosterTask(VideoUploadedEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void run() {
+            generatePoster(event);
+        }
+    }
+
+    private static class VideoPoster {
+        private double durationSeconds;
+        private int width;
+        private int height;
+        private String blurHash;
+        private String posterKey;
+        private byte[] jpeg;
+    }
+}
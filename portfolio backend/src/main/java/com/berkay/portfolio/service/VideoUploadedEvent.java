@@ -0,0 +1,17 @@
+package com.berkay.portfolio.service;
+
+import java.nio.file.Path;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a video has been stored, with a local copy of the bytes that the
+ * receiver owns and must delete.
+ */
+@Getter
+@AllArgsConstructor
+public class VideoUploadedEvent {
+    private final String url;
+    private final Path spooledFile;
+}
@@ -0,0 +1,243 @@
+package com.berkay.portfolio.loadtest;
+
+import java.beans.Introspector;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.util.ReflectionUtils;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * In-process stand-in for Spring Data Mongo repositories. Implements the CRUD methods and the
+ * derived finders the application declares (findByX, findByXAfter, findAllByOrderByXAsc, existsByX).
+ * Entities are copied on the way in and out, like documents decoded by the driver, so callers
+ * never share instances across requests.
+ */
+final class InMemoryRepositories {
+
+    private static final ObjectMapper COPIER = new ObjectMapper()
+            .findAndRegisterModules()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private InMemoryRepositories() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <R extends MongoRepository<?, String>> R create(Class<R> repositoryType) {
+        Class<?> entityType = ResolvableType.forClass(repositoryType).as(MongoRepository.class).resolveGeneric(0);
+        Store store = new Store(entityType);
+        return (R) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType },
+                (proxy, method, args) -> store.invoke(proxy, method, args == null ? new Object[0] : args));
+    }
+
+    private static final class Store {
+        private final Class<?> entityType;
+        private final Field idField;
+        private final Map<String, Object> documents = new ConcurrentSkipListMap<>();
+
+        private Store(Class<?> entityType) {
+            this.entityType = entityType;
+            Field id = null;
+            for (Field field : entityType.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class)) {
+                    id = field;
+                }
+            }
+            if (id == null) {
+                throw new IllegalArgumentException("No @Id field on " + entityType.getName());
+            }
+            ReflectionUtils.makeAccessible(id);
+            this.idField = id;
+        }
+
+        private Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            switch (name) {
+                case "toString":
+                    return "InMemoryRepository<" + entityType.getSimpleName() + ">";
+                case "hashCode":
+                    return System.identityHashCode(this);
+                case "equals":
+                    return proxy == args[0];
+                case "save":
+                case "insert":
+                    return args[0] instanceof Iterable<?> entities ? saveAll(entities) : save(args[0]);
+                case "saveAll":
+                    return saveAll((Iterable<?>) args[0]);
+                case "findById":
+                    return Optional.ofNullable(copy(documents.get((String) args[0])));
+                case "existsById":
+                    return documents.containsKey((String) args[0]);
+                case "findAll":
+                    return args.length == 1 && args[0] instanceof Sort sort ? sorted(all(), sort) : all();
+                case "findAllById": {
+                    List<Object> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        Object document = documents.get((String) id);
+                        if (document != null) {
+                            found.add(copy(document));
+                        }
+                    }
+                    return found;
+                }
+                case "count":
+                    return (long) documents.size();
+                case "deleteById":
+                    documents.remove((String) args[0]);
+                    return null;
+                case "delete":
+                    documents.remove(idOf(args[0]));
+                    return null;
+                case "deleteAllById":
+                    for (Object id : (Iterable<?>) args[0]) {
+                        documents.remove((String) id);
+                    }
+                    return null;
+                case "deleteAll":
+                    if (args.length == 0) {
+                        documents.clear();
+                    } else {
+                        for (Object entity : (Iterable<?>) args[0]) {
+                            documents.remove(idOf(entity));
+                        }
+                    }
+                    return null;
+                default:
+                    return derivedQuery(method, args);
+            }
+        }
+
+        private Object save(Object entity) {
+            String id = idOf(entity);
+            if (id == null) {
+                id = new ObjectId().toHexString();
+                ReflectionUtils.setField(idField, entity, id);
+            }
+            documents.put(id, copy(entity));
+            return entity;
+        }
+
+        private List<Object> saveAll(Iterable<?> entities) {
+            List<Object> saved = new ArrayList<>();
+            for (Object entity : entities) {
+                saved.add(save(entity));
+            }
+            return saved;
+        }
+
+        private Object derivedQuery(Method method, Object[] args) {
+            String name = method.getName();
+            List<Object> results;
+            if (name.startsWith("findAllByOrderBy")) {
+                String criteria = name.substring("findAllByOrderBy".length());
+                boolean descending = criteria.endsWith("Desc");
+                String property = property(criteria.substring(0, criteria.length() - (descending ? 4 : 3)));
+                results = sorted(all(), descending ? Sort.by(property).descending() : Sort.by(property));
+            } else if (name.startsWith("findBy") || name.startsWith("existsBy") || name.startsWith("countBy")) {
+                String criteria = name.substring(name.indexOf("By") + 2);
+                results = filter(criteria, args[0]);
+            } else {
+                throw new UnsupportedOperationException(entityType.getSimpleName() + "Repository." + name);
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class || returnType == Boolean.class) {
+                return !results.isEmpty();
+            }
+            if (returnType == long.class || returnType == Long.class) {
+                return (long) results.size();
+            }
+            if (Collection.class.isAssignableFrom(returnType)) {
+                return results;
+            }
+            Object first = results.isEmpty() ? null : results.get(0);
+            return returnType == Optional.class ? Optional.ofNullable(first) : first;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private List<Object> filter(String criteria, Object value) {
+            Predicate<Object> matches;
+            if (criteria.endsWith("After")) {
+                String property = property(criteria.substring(0, criteria.length() - 5));
+                matches = entity -> {
+                    Object actual = read(entity, property);
+                    return actual != null && ((Comparable) actual).compareTo(value) > 0;
+                };
+            } else if (criteria.endsWith("Before")) {
+                String property = property(criteria.substring(0, criteria.length() - 6));
+                matches = entity -> {
+                    Object actual = read(entity, property);
+                    return actual != null && ((Comparable) actual).compareTo(value) < 0;
+                };
+            } else {
+                String property = property(criteria);
+                matches = entity -> Objects.equals(read(entity, property), value);
+            }
+            List<Object> results = new ArrayList<>();
+            for (Object document : documents.values()) {
+                if (matches.test(document)) {
+                    results.add(copy(document));
+                }
+            }
+            return results;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private List<Object> sorted(List<Object> entities, Sort sort) {
+            Comparator<Object> comparator = null;
+            for (Sort.Order order : sort) {
+                Comparator<Object> byProperty = Comparator.comparing(
+                        entity -> (Comparable) read(entity, order.getProperty()),
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+                byProperty = order.isAscending() ? byProperty : byProperty.reversed();
+                comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+            }
+            if (comparator != null) {
+                entities.sort(comparator);
+            }
+            return entities;
+        }
+
+        private List<Object> all() {
+            List<Object> all = new ArrayList<>(documents.size());
+            for (Object document : documents.values()) {
+                all.add(copy(document));
+            }
+            return all;
+        }
+
+        private String idOf(Object entity) {
+            return (String) ReflectionUtils.getField(idField, entity);
+        }
+
+        private Object read(Object entity, String property) {
+            return new BeanWrapperImpl(entity).getPropertyValue(property);
+        }
+
+        private String property(String capitalized) {
+            return Introspector.decapitalize(capitalized);
+        }
+
+        private Object copy(Object entity) {
+            return entity == null ? null : COPIER.convertValue(entity, entityType);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.berkay.portfolio.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Allocation and GC pause accounting for a measurement window. Allocation comes from the per-thread
+ * allocation counters, which the server's pooled worker threads keep for the whole run; pauses come
+ * from GC notifications, excluding concurrent cycles that do not stop application threads.
+ */
+final class JvmMetrics implements AutoCloseable {
+
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener listener = this::onGc;
+    private final List<Long> pausesMillis = new ArrayList<>();
+
+    JvmMetrics() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+                emitters.add(emitter);
+            }
+        }
+    }
+
+    private void onGc(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        if (info.getGcName().contains("Concurrent") || info.getGcName().contains("Cycles")) {
+            return;
+        }
+        synchronized (pausesMillis) {
+            pausesMillis.add(info.getGcInfo().getDuration());
+        }
+    }
+
+    Window start() {
+        synchronized (pausesMillis) {
+            pausesMillis.clear();
+        }
+        return new Window(totalAllocatedBytes(), System.nanoTime());
+    }
+
+    // Live threads only (getTotalThreadAllocatedBytes needs JDK 21); threads that ended report -1
+    private long totalAllocatedBytes() {
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    final class Window {
+        private final long allocatedAtStart;
+        private final long startNanos;
+
+        private Window(long allocatedAtStart, long startNanos) {
+            this.allocatedAtStart = allocatedAtStart;
+            this.startNanos = startNanos;
+        }
+
+        long allocatedBytes() {
+            return totalAllocatedBytes() - allocatedAtStart;
+        }
+
+        double elapsedSeconds() {
+            return (System.nanoTime() - startNanos) / 1e9;
+        }
+
+        List<Long> pausesMillis() {
+            synchronized (pausesMillis) {
+                return new ArrayList<>(pausesMillis);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(listener);
+            } catch (ListenerNotFoundException e) {
+                // Already removed
+            }
+        }
+    }
+}
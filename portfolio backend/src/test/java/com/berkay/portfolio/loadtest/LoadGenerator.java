@@ -0,0 +1,130 @@
+package com.berkay.portfolio.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load generator: requests are issued at a fixed arrival rate regardless of how fast
+ * responses come back, and latency is taken from each request's intended start time.
+ */
+final class LoadGenerator implements AutoCloseable {
+
+    private final ExecutorService clientExecutor = Executors.newFixedThreadPool(16);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(clientExecutor)
+            .build();
+    private final int maxInFlight;
+
+    LoadGenerator(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    HttpClient client() {
+        return client;
+    }
+
+    ScenarioResult run(Scenario scenario, Duration warmup, Duration duration, JvmMetrics jvm) throws InterruptedException {
+        Recorder recorder = new Recorder(TimeUnit.SECONDS.toMicros(60), 3);
+        LongAdder errors = new LongAdder();
+        LongAdder completed = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        JvmMetrics.Window window = null;
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            if (measured && window == null) {
+                window = jvm.start();
+            }
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    dropped.increment();
+                }
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            HttpRequest request = scenario.next();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (!measured) {
+                    return;
+                }
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+                recorder.recordValue(Math.min(latencyMicros, TimeUnit.SECONDS.toMicros(60)));
+                completed.increment();
+                if (error != null || response.statusCode() >= 400) {
+                    errors.increment();
+                }
+            });
+        }
+
+        // Let the requests still in flight finish so they count towards the window
+        long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+
+        Histogram latencies = recorder.getIntervalHistogram();
+        double seconds = window.elapsedSeconds();
+        long allocated = window.allocatedBytes();
+        List<Long> pauses = window.pausesMillis();
+        long requests = completed.sum();
+
+        return ScenarioResult.builder()
+                .scenario(scenario.name())
+                .targetRatePerSecond(scenario.ratePerSecond())
+                .durationSeconds(seconds)
+                .requests(requests)
+                .errors(errors.sum())
+                .dropped(dropped.sum())
+                .throughputPerSecond(requests / seconds)
+                .p50Millis(millis(latencies.getValueAtPercentile(50)))
+                .p95Millis(millis(latencies.getValueAtPercentile(95)))
+                .p99Millis(millis(latencies.getValueAtPercentile(99)))
+                .p999Millis(millis(latencies.getValueAtPercentile(99.9)))
+                .maxMillis(millis(latencies.getMaxValue()))
+                .allocationMegabytesPerSecond(allocated / seconds / (1024 * 1024))
+                .allocatedBytesPerRequest(requests == 0 ? 0 : allocated / requests)
+                .gcPauses(pauses.size())
+                .gcPauseTotalMillis(pauses.stream().mapToLong(Long::longValue).sum())
+                .gcPauseMaxMillis(pauses.stream().mapToLong(Long::longValue).max().orElse(0))
+                .build();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    @Override
+    public void close() {
+        clientExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,61 @@
+package com.berkay.portfolio.loadtest;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.berkay.portfolio.repository.AdminRepository;
+import com.berkay.portfolio.repository.EducationHistoryRepository;
+import com.berkay.portfolio.repository.JobHistoryRepository;
+import com.berkay.portfolio.repository.PersonalInfoRepository;
+import com.berkay.portfolio.repository.ProfessionalSkillsRepository;
+import com.berkay.portfolio.repository.ProjectDetailContentRepository;
+import com.berkay.portfolio.repository.ProjectsRepository;
+import com.berkay.portfolio.repository.RevokedCredentialRepository;
+
+/**
+ * Replaces the Mongo repositories (disabled with spring.data.mongodb.repositories.type=none)
+ * with in-memory ones.
+ */
+@TestConfiguration
+class LoadTestConfiguration {
+
+    @Bean
+    AdminRepository adminRepository() {
+        return InMemoryRepositories.create(AdminRepository.class);
+    }
+
+    @Bean
+    RevokedCredentialRepository revokedCredentialRepository() {
+        return InMemoryRepositories.create(RevokedCredentialRepository.class);
+    }
+
+    @Bean
+    PersonalInfoRepository personalInfoRepository() {
+        return InMemoryRepositories.create(PersonalInfoRepository.class);
+    }
+
+    @Bean
+    ProjectsRepository projectsRepository() {
+        return InMemoryRepositories.create(ProjectsRepository.class);
+    }
+
+    @Bean
+    ProjectDetailContentRepository projectDetailContentRepository() {
+        return InMemoryRepositories.create(ProjectDetailContentRepository.class);
+    }
+
+    @Bean
+    JobHistoryRepository jobHistoryRepository() {
+        return InMemoryRepositories.create(JobHistoryRepository.class);
+    }
+
+    @Bean
+    EducationHistoryRepository educationHistoryRepository() {
+        return InMemoryRepositories.create(EducationHistoryRepository.class);
+    }
+
+    @Bean
+    ProfessionalSkillsRepository professionalSkillsRepository() {
+        return InMemoryRepositories.create(ProfessionalSkillsRepository.class);
+    }
+}
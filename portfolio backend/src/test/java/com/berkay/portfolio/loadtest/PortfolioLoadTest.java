@@ -0,0 +1,429 @@
+package com.berkay.portfolio.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.berkay.portfolio.model.EducationHistory;
+import com.berkay.portfolio.model.JobHistory;
+import com.berkay.portfolio.model.PersonalInfo;
+import com.berkay.portfolio.model.ProfessionalSkills;
+import com.berkay.portfolio.model.ProjectDetailContent;
+import com.berkay.portfolio.model.Projects;
+import com.berkay.portfolio.repository.EducationHistoryRepository;
+import com.berkay.portfolio.repository.JobHistoryRepository;
+import com.berkay.portfolio.repository.PersonalInfoRepository;
+import com.berkay.portfolio.repository.ProfessionalSkillsRepository;
+import com.berkay.portfolio.repository.ProjectDetailContentRepository;
+import com.berkay.portfolio.repository.ProjectsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * End-to-end load test against the real application, with Mongo repositories and S3 replaced by
+ * in-process stand-ins. Each scenario runs at a fixed arrival rate; the per-scenario report is written
+ * to target/load-test/report.json so runs before and after a change can be compared.
+ *
+ * Run with: mvn test -Pload-test [-Dloadtest.rate=200 -Dloadtest.duration-seconds=60]
+ *
+ * The generator shares the JVM with the server, so allocation and GC figures include its own
+ * (small, constant per request) overhead.
+ *
+ * Only the repositories are replaced. Code using MongoTemplate directly reaches the dead Mongo URI
+ * and fails within the server selection timeout, so these paths are deliberately not exercised:
+ * PATCH, batch writes, export/import, project cascade deletion, video poster attachment, and the
+ * rich-text backfill job. No scenario calls them. Startup tasks that use MongoTemplate (index
+ * creation, tag backfill, revocation sync) log a warning and the application starts anyway.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.data.mongodb.repositories.type=none",
+        // Nothing listens here: direct MongoTemplate calls fail fast instead of hanging the run
+        "spring.data.mongodb.uri=mongodb://127.0.0.1:1/loadtest?serverSelectionTimeoutMS=200&connectTimeoutMS=200",
+        "management.health.mongo.enabled=false",
+        "management.server.port=-1",
+        "aws.s3.bucket-name=loadtest",
+        "aws.s3.region=eu-central-1",
+        "aws.access-key-id=loadtest",
+        "aws.secret-access-key=loadtest",
+        "monitoring.slow-commands.explain=false",
+        // Single instance, no other writers to follow
+        "cache-sync.enabled=false",
+        // Needs MongoTemplate, see above
+        "rich-text.backfill.on-startup=false",
+        // Measures what the server sustains, not how it sheds what it cannot
+        "load-shedding.enabled=false",
+        "logging.level.com.berkay.portfolio=WARN"
+})
+@Import(LoadTestConfiguration.class)
+class PortfolioLoadTest {
+
+    private static final S3StandIn S3 = startS3();
+
+    private static final int RATE = Integer.getInteger("loadtest.rate", 100);
+    private static final int UPLOAD_RATE = Integer.getInteger("loadtest.upload-rate", 10);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("loadtest.max-in-flight", 1000);
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    private static final String[] FETCH_PATHS = {
+            "/api/personal-info/fetch",
+            "/api/projects/fetch",
+            "/api/project-detail-content/fetch",
+            "/api/job-history/fetch",
+            "/api/education-history/fetch",
+            "/api/professional-skills/fetch"
+    };
+
+    private static final String PARAGRAPH = "Designed and built the service end to end: REST API on Spring Boot, "
+            + "documents in MongoDB, media in S3 behind presigned URLs, and a Next.js frontend with server-side "
+            + "rendering. Covered the critical paths with integration tests and set up CI with container builds.";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PersonalInfoRepository personalInfoRepository;
+
+    @Autowired
+    private ProjectsRepository projectsRepository;
+
+    @Autowired
+    private ProjectDetailContentRepository projectDetailContentRepository;
+
+    @Autowired
+    private JobHistoryRepository jobHistoryRepository;
+
+    @Autowired
+    private EducationHistoryRepository educationHistoryRepository;
+
+    @Autowired
+    private ProfessionalSkillsRepository professionalSkillsRepository;
+
+    private final List<Projects> projects = new ArrayList<>();
+    private final List<ProjectDetailContent> details = new ArrayList<>();
+    private final AtomicInteger uploadCounter = new AtomicInteger();
+
+    private static S3StandIn startS3() {
+        try {
+            return new S3StandIn();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start the S3 stand-in", e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void s3Endpoint(DynamicPropertyRegistry registry) {
+        registry.add("aws.s3.endpoint", S3::endpoint);
+    }
+
+    @AfterAll
+    static void stopS3() {
+        S3.close();
+    }
+
+    @Test
+    void runScenarios() throws Exception {
+        seed();
+
+        try (LoadGenerator generator = new LoadGenerator(MAX_IN_FLIGHT); JvmMetrics jvm = new JvmMetrics()) {
+            String token = login(generator);
+            byte[] image = samplePng();
+
+            List<Scenario> scenarios = List.of(
+                    publicFetch(),
+                    projectDetail(),
+                    adminWrite(token),
+                    mediaUpload(token, image),
+                    mixed(token, image));
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                results.add(generator.run(scenario, WARMUP, DURATION, jvm));
+            }
+            writeReport(results);
+
+            for (ScenarioResult result : results) {
+                assertTrue(result.getRequests() > 0, result.getScenario() + " completed no requests");
+                assertTrue(result.getErrors() <= result.getRequests() * MAX_ERROR_RATE,
+                        result.getScenario() + " had " + result.getErrors() + " errors");
+            }
+        }
+    }
+
+    private Scenario publicFetch() {
+        Scenario scenario = new Scenario("public-fetch", RATE);
+        for (String path : FETCH_PATHS) {
+            scenario.add(1, () -> get(path, null));
+        }
+        return scenario;
+    }
+
+    private Scenario projectDetail() {
+        return new Scenario("project-detail", RATE)
+                .add(1, () -> get("/api/projects/" + randomProject().getId(), null))
+                .add(3, () -> get("/api/project-detail-content/project/" + randomProject().getId(), null));
+    }
+
+    private Scenario adminWrite(String token) {
+        return new Scenario("admin-write", RATE)
+                .add(1, () -> updateProject(token))
+                .add(1, () -> updateDetail(token));
+    }
+
+    private Scenario mediaUpload(String token, byte[] image) {
+        return new Scenario("media-upload", UPLOAD_RATE)
+                .add(1, () -> uploadProject(token, image));
+    }
+
+    private Scenario mixed(String token, byte[] image) {
+        Scenario scenario = new Scenario("mixed", RATE);
+        for (String path : FETCH_PATHS) {
+            scenario.add(14, () -> get(path, null));
+        }
+        return scenario
+                .add(10, () -> get("/api/project-detail-content/project/" + randomProject().getId(), null))
+                .add(3, () -> updateProject(token))
+                .add(2, () -> updateDetail(token))
+                .add(1, () -> uploadProject(token, image));
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    private HttpRequest updateProject(String token) {
+        Projects project = randomProject();
+        project.setProjectDescription("Updated at " + Instant.now() + ". " + PARAGRAPH);
+        return putJson("/api/projects/" + project.getId(), project, token);
+    }
+
+    private HttpRequest updateDetail(String token) {
+        ProjectDetailContent detail = details.get(ThreadLocalRandom.current().nextInt(details.size()));
+        return putJson("/api/project-detail-content/" + detail.getId(), detail, token);
+    }
+
+    private HttpRequest putJson(String path, Object body, String token) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest uploadProject(String token, byte[] image) {
+        int number = uploadCounter.incrementAndGet();
+        String boundary = "----loadtest" + UUID.randomUUID();
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("projectName", "Uploaded project " + number);
+        fields.put("projectDescription", "Created by the load test");
+        fields.put("projectLink", "https://example.com/uploaded/" + number);
+        fields.put("projectContentType", "IMAGE");
+        fields.put("projectTechnologies", "Java, Spring Boot");
+        fields.put("displayOrder", String.valueOf(1000 + number));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(image.length + 2048);
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey()
+                    + "\"\r\n\r\n" + field.getValue() + "\r\n");
+        }
+        write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"mediaFile\"; filename=\"screenshot.png\""
+                + "\r\nContent-Type: image/png\r\n\r\n");
+        body.writeBytes(image);
+        write(body, "\r\n--" + boundary + "--\r\n");
+
+        return HttpRequest.newBuilder(uri("/api/projects/with-media"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String login(LoadGenerator generator) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"admin123\"}"))
+                .build();
+        HttpResponse<String> response = generator.client().send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), "Login failed: " + response.body());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private Projects randomProject() {
+        return projects.get(ThreadLocalRandom.current().nextInt(projects.size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    /**
+     * Realistic portfolio: one profile, 20 projects with 8 content blocks each, a work and
+     * education history and a skill list.
+     */
+    private void seed() {
+        personalInfoRepository.save(PersonalInfo.builder()
+                .name("Load Test")
+                .email("loadtest@example.com")
+                .phone("5550000000")
+                .address("Load Test Street 1")
+                .state("Istanbul")
+                .zip("34000")
+                .city("Istanbul")
+                .country("Turkey")
+                .workTitle("Software Engineer")
+                .profilePicture("https://loadtest.s3.amazonaws.com/profile-pictures/profile.png")
+                .build());
+
+        for (int i = 1; i <= 20; i++) {
+            Projects project = projectsRepository.save(Projects.builder()
+                    .projectName("Project " + i)
+                    .projectDescription(PARAGRAPH)
+                    .projectLink("https://github.com/example/project-" + i)
+                    .projectContentType(Projects.ProjectContentType.IMAGE)
+                    .projectContent("https://loadtest.s3.amazonaws.com/projects/project-" + i + ".png")
+                    .projectTechnologies("Java, Spring Boot, MongoDB, AWS S3, Next.js")
+                    .displayOrder(i)
+                    .build());
+            projects.add(project);
+            for (int j = 1; j <= 8; j++) {
+                boolean text = j % 2 == 1;
+                details.add(projectDetailContentRepository.save(ProjectDetailContent.builder()
+                        .projectId(project.getId())
+                        .projectDetailContentType(text ? ProjectDetailContent.ProjectDetailContentType.TEXT
+                                : ProjectDetailContent.ProjectDetailContentType.IMAGE)
+                        .projectDetailContent(text ? "<p>" + PARAGRAPH + "</p><p>" + PARAGRAPH + "</p>"
+                                : "https://loadtest.s3.amazonaws.com/project-detail-content/" + i + "-" + j + ".png")
+                        .displayOrder(j)
+                        .build()));
+            }
+        }
+
+        for (int i = 1; i <= 6; i++) {
+            jobHistoryRepository.save(JobHistory.builder()
+                    .companyName("Company " + i)
+                    .jobTitle("Software Engineer")
+                    .startDate(LocalDate.of(2015 + i, 1, 1))
+                    .endDate(i == 6 ? null : LocalDate.of(2016 + i, 1, 1))
+                    .isCurrent(i == 6)
+                    .description(PARAGRAPH)
+                    .location("Istanbul")
+                    .displayOrder(i)
+                    .build());
+        }
+        for (int i = 1; i <= 3; i++) {
+            educationHistoryRepository.save(EducationHistory.builder()
+                    .schoolName("University " + i)
+                    .degree("BSc")
+                    .fieldOfStudy("Computer Engineering")
+                    .startDate(LocalDate.of(2010 + i, 9, 1))
+                    .endDate(LocalDate.of(2014 + i, 6, 30))
+                    .isCurrent(false)
+                    .description(PARAGRAPH)
+                    .location("Istanbul")
+                    .gpa("3.50")
+                    .displayOrder(i)
+                    .build());
+        }
+        ProfessionalSkills.SkillLevel[] levels = ProfessionalSkills.SkillLevel.values();
+        for (int i = 1; i <= 30; i++) {
+            professionalSkillsRepository.save(ProfessionalSkills.builder()
+                    .skillName("Skill " + i)
+                    .skillLevel(levels[i % levels.length])
+                    .displayOrder(i)
+                    .build());
+        }
+    }
+
+    /**
+     * A 512x384 noisy PNG (a few hundred KB), so uploads exercise metadata extraction realistically.
+     */
+    private static byte[] samplePng() throws IOException {
+        BufferedImage image = new BufferedImage(512, 384, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (x * 255 / image.getWidth()) << 16 | (y * 255 / image.getHeight()) << 8
+                        | random.nextInt(64));
+            }
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+
+    private void writeReport(List<ScenarioResult> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        report.put("warmupSeconds", WARMUP.getSeconds());
+        report.put("s3Requests", S3.requestCount());
+        report.put("scenarios", results);
+
+        Path directory = Path.of("target", "load-test");
+        Files.createDirectories(directory);
+        ObjectMapper writer = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+        byte[] json = writer.writeValueAsBytes(report);
+        Files.write(directory.resolve("report.json"), json);
+        Files.write(directory.resolve("report-" + Instant.now().getEpochSecond() + ".json"), json);
+
+        System.out.printf("%n%-15s %8s %10s %8s %8s %9s %9s %9s %9s %10s %8s%n", "scenario", "rate", "req/s",
+                "errors", "dropped", "p50 ms", "p95 ms", "p99 ms", "max ms", "alloc MB/s", "gc ms");
+        for (ScenarioResult result : results) {
+            System.out.printf("%-15s %8d %10.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %10.1f %8d%n", result.getScenario(),
+                    result.getTargetRatePerSecond(), result.getThroughputPerSecond(), result.getErrors(),
+                    result.getDropped(), result.getP50Millis(), result.getP95Millis(), result.getP99Millis(),
+                    result.getMaxMillis(), result.getAllocationMegabytesPerSecond(), result.getGcPauseTotalMillis());
+        }
+    }
+}
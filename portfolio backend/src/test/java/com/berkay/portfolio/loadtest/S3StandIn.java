@@ -0,0 +1,184 @@
+package com.berkay.portfolio.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal S3 API over HTTP for path-style requests: PutObject, GetObject, DeleteObject and
+ * DeleteObjects. Objects are kept in memory. Payloads signed in aws-chunked encoding are decoded,
+ * and the ETag is the MD5 of the content, which the SDK checks after an upload.
+ */
+final class S3StandIn implements AutoCloseable {
+
+    private static final Pattern DELETE_KEY = Pattern.compile("<Key>(.*?)</Key>");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(32);
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder bytesStored = new LongAdder();
+
+    S3StandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int objectCount() {
+        return objects.size();
+    }
+
+    long requestCount() {
+        return requests.sum();
+    }
+
+    long bytesStored() {
+        return bytesStored.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            // Path style: /<bucket>/<key>
+            String path = exchange.getRequestURI().getPath();
+            int keyStart = path.indexOf('/', 1);
+            String key = keyStart < 0 ? "" : path.substring(keyStart + 1);
+            String query = exchange.getRequestURI().getQuery();
+
+            switch (exchange.getRequestMethod()) {
+                case "PUT": {
+                    byte[] content = readBody(exchange);
+                    objects.put(key, content);
+                    bytesStored.add(content.length);
+                    exchange.getResponseHeaders().add("ETag", "\"" + md5(content) + "\"");
+                    exchange.sendResponseHeaders(200, -1);
+                    break;
+                }
+                case "GET":
+                case "HEAD": {
+                    byte[] content = objects.get(key);
+                    if (content == null) {
+                        sendXml(exchange, 404, "<Error><Code>NoSuchKey</Code><Key>" + key + "</Key></Error>");
+                        break;
+                    }
+                    exchange.getResponseHeaders().add("ETag", "\"" + md5(content) + "\"");
+                    if ("HEAD".equals(exchange.getRequestMethod())) {
+                        exchange.sendResponseHeaders(200, -1);
+                    } else {
+                        exchange.sendResponseHeaders(200, content.length);
+                        exchange.getResponseBody().write(content);
+                    }
+                    break;
+                }
+                case "DELETE":
+                    objects.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                    break;
+                case "POST":
+                    if (query != null && query.contains("delete")) {
+                        deleteObjects(exchange);
+                        break;
+                    }
+                    sendXml(exchange, 501, "<Error><Code>NotImplemented</Code></Error>");
+                    break;
+                default:
+                    sendXml(exchange, 405, "<Error><Code>MethodNotAllowed</Code></Error>");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void deleteObjects(HttpExchange exchange) throws IOException {
+        String request = new String(readBody(exchange), StandardCharsets.UTF_8);
+        StringBuilder result = new StringBuilder("<DeleteResult>");
+        Matcher matcher = DELETE_KEY.matcher(request);
+        while (matcher.find()) {
+            objects.remove(matcher.group(1));
+            result.append("<Deleted><Key>").append(matcher.group(1)).append("</Key></Deleted>");
+        }
+        sendXml(exchange, 200, result.append("</DeleteResult>").toString());
+    }
+
+    private byte[] readBody(HttpExchange exchange) throws IOException {
+        byte[] raw = exchange.getRequestBody().readAllBytes();
+        String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+        String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        boolean chunked = (contentSha != null && contentSha.startsWith("STREAMING-"))
+                || (contentEncoding != null && contentEncoding.contains("aws-chunked"));
+        return chunked ? decodeAwsChunked(raw) : raw;
+    }
+
+    /**
+     * Decodes "hex-size;chunk-signature=...\r\n data \r\n" frames up to the zero-length chunk.
+     */
+    private static byte[] decodeAwsChunked(byte[] raw) {
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream(raw.length);
+        int position = 0;
+        while (position < raw.length) {
+            int lineEnd = indexOfCrlf(raw, position);
+            if (lineEnd < 0) {
+                break;
+            }
+            String header = new String(raw, position, lineEnd - position, StandardCharsets.US_ASCII);
+            int separator = header.indexOf(';');
+            int size = Integer.parseInt(separator < 0 ? header.trim() : header.substring(0, separator).trim(), 16);
+            if (size == 0) {
+                break;
+            }
+            decoded.write(raw, lineEnd + 2, size);
+            position = lineEnd + 2 + size + 2;
+        }
+        return decoded.toByteArray();
+    }
+
+    private static int indexOfCrlf(byte[] data, int from) {
+        for (int i = from; i < data.length - 1; i++) {
+            if (data[i] == '\r' && data[i + 1] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void sendXml(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static String md5(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,49 @@
+package com.berkay.portfolio.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Named traffic mix: each request template is picked with a probability proportional to its weight.
+ */
+final class Scenario {
+
+    private final String name;
+    private final int ratePerSecond;
+    private final List<Supplier<HttpRequest>> requests = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    Scenario(String name, int ratePerSecond) {
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    Scenario add(int weight, Supplier<HttpRequest> request) {
+        totalWeight += weight;
+        requests.add(request);
+        cumulativeWeights.add(totalWeight);
+        return this;
+    }
+
+    String name() {
+        return name;
+    }
+
+    int ratePerSecond() {
+        return ratePerSecond;
+    }
+
+    HttpRequest next() {
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < requests.size(); i++) {
+            if (pick < cumulativeWeights.get(i)) {
+                return requests.get(i).get();
+            }
+        }
+        throw new IllegalStateException("Empty scenario " + name);
+    }
+}
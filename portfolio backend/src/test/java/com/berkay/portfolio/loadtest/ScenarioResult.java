@@ -0,0 +1,35 @@
+package com.berkay.portfolio.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the load-test report. Latencies are measured from the intended send time of each
+ * request, so queueing caused by a saturated server is included (no coordinated omission).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ScenarioResult {
+    private String scenario;
+    private int targetRatePerSecond;
+    private double durationSeconds;
+    private long requests;
+    private long errors;
+    // Requests never sent because too many were already in flight
+    private long dropped;
+    private double throughputPerSecond;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double p999Millis;
+    private double maxMillis;
+    private double allocationMegabytesPerSecond;
+    private long allocatedBytesPerRequest;
+    private int gcPauses;
+    private long gcPauseTotalMillis;
+    private long gcPauseMaxMillis;
+}
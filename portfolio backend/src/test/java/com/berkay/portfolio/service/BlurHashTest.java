@@ -0,0 +1,49 @@
+package com.berkay.portfolio.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Expected hashes come from the reference encoder (https://github.com/woltapp/blurhash) run on
+ * the same 32x32 images with 4x3 components.
+ */
+class BlurHashTest {
+
+    private static final int SIZE = 32;
+
+    @Test
+    void encodesSolidWhite() {
+        assertEquals("L9TSUA~qfQ~q~qoffQoffQfQfQfQ", BlurHash.encode(image((x, y) -> 0xFFFFFF), 4, 3));
+    }
+
+    @Test
+    void encodesSolidBlack() {
+        assertEquals("L00000fQfQfQfQfQfQfQfQfQfQfQ", BlurHash.encode(image((x, y) -> 0x000000), 4, 3));
+    }
+
+    @Test
+    void encodesHorizontalGradient() {
+        BufferedImage gradient = image((x, y) -> {
+            int red = x * 255 / (SIZE - 1);
+            return (red << 16) | (64 << 8) | (255 - red);
+        });
+        assertEquals("L.HbW}2gw%W@oMWrjufRfQfQfQfQ", BlurHash.encode(gradient, 4, 3));
+    }
+
+    private static BufferedImage image(Pixel pixel) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                image.setRGB(x, y, pixel.rgb(x, y));
+            }
+        }
+        return image;
+    }
+
+    private interface Pixel {
+        int rgb(int x, int y);
+    }
+}